@@ -0,0 +1,85 @@
+package org.example.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.example.api.data.PetTestDataBuilder;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.response.PetResponse;
+import org.example.api.utils.ApiObjectMapper;
+import org.example.api.utils.JsonArrayStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// JSON cost of the pet models through the shared ApiObjectMapper, without any HTTP involved
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class JsonMappingBenchmark {
+    private static final ApiObjectMapper mapper = ApiObjectMapper.getInstance();
+
+    @State(Scope.Benchmark)
+    public static class SinglePet {
+        PetRequest request;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws JsonProcessingException {
+            request = PetTestDataBuilder.buildCreatePetRequest();
+            json = mapper.writeValueAsBytes(request);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PetList {
+        @Param({"1", "100", "1000"})
+        int size;
+
+        byte[] json;
+
+        @Setup
+        public void setUp() throws JsonProcessingException {
+            PetRequest[] pets = new PetRequest[size];
+            for (int i = 0; i < size; i++) {
+                pets[i] = PetTestDataBuilder.buildCreatePetRequest();
+            }
+            json = mapper.getObjectMapper().writeValueAsBytes(pets);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePetRequest(SinglePet pet) throws JsonProcessingException {
+        return mapper.writeValueAsBytes(pet.request);
+    }
+
+    @Benchmark
+    public PetResponse deserializePetResponse(SinglePet pet) throws IOException {
+        return mapper.readValue(pet.json, PetResponse.class);
+    }
+
+    @Benchmark
+    public PetResponse[] deserializePetResponseArray(PetList list) throws IOException {
+        return mapper.readValue(list.json, PetResponse[].class);
+    }
+
+    @Benchmark
+    public long streamPetResponseArray(PetList list) {
+        try (Stream<PetResponse> pets = JsonArrayStream.of(new ByteArrayInputStream(list.json), PetResponse.class, () -> { })) {
+            return pets.count();
+        }
+    }
+}
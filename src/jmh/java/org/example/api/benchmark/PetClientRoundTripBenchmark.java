@@ -0,0 +1,81 @@
+package org.example.api.benchmark;
+
+import org.example.api.client.PetClient;
+import org.example.api.data.PetTestDataBuilder;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.response.PetResponse;
+import org.example.api.stub.LatencyDistribution;
+import org.example.api.stub.PetStoreStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Full PetClient round trips over loopback against the in-process PetStoreStub with latency turned off,
+// so the numbers are the client's own cost plus the local TCP stack and the stub's store
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+@State(Scope.Benchmark)
+public class PetClientRoundTripBenchmark {
+    @Param({"100"})
+    int listSize;
+
+    private PetStoreStub stub;
+    private PetClient client;
+    private PetRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stub = new PetStoreStub(0, LatencyDistribution.fixed(0), 0.0, 0.0).start();
+        request = PetTestDataBuilder.buildCreatePetRequest();
+        stub.seed(request);
+        for (int i = 0; i < listSize; i++) {
+            PetRequest pet = PetTestDataBuilder.buildCreatePetRequest();
+            pet.setStatus("available");
+            stub.seed(pet);
+        }
+        client = new PetClient(stub.getBaseUrl());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.stop();
+    }
+
+    @Benchmark
+    public PetResponse getPetById() {
+        return client.getPetById(request.getId());
+    }
+
+    @Benchmark
+    public PetResponse updatePet() {
+        return client.updatePet(request);
+    }
+
+    @Benchmark
+    public PetResponse[] findPetsByStatus() {
+        return client.findPetsByStatus("available");
+    }
+
+    @Benchmark
+    public long streamPetsByStatus() {
+        try (Stream<PetResponse> pets = client.streamPetsByStatus("available")) {
+            return pets.count();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.example.api.client.PetClient;
+import org.example.api.data.PetTestDataBuilder;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.response.PetResponse;
+import org.example.api.utils.ApiObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// What the client framework costs per call with the network taken out: a terminal filter answers every
+// request with a canned response, so spec creation, param maps, the filter chain, serialization and
+// deserialization are measured on their own. RestAssured's Groovy call paths need thousands of calls to
+// warm up, hence the longer warmup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+@State(Scope.Benchmark)
+public class RequestBuildingBenchmark {
+    private static final String BASE_URL = "http://localhost/v2";
+
+    private static byte[] petJson;
+    private static byte[] petListJson;
+
+    private PetClient client;
+    private PetRequest request;
+
+    // Never touches the network; the canned body depends on the endpoint
+    private static final Filter CANNED_RESPONSE = (requestSpec, responseSpec, ctx) -> {
+        byte[] body = requestSpec.getUserDefinedPath().endsWith("findByStatus") ? petListJson : petJson;
+        Response response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+        // Built responses carry no config; give them the client's so as(...) uses the shared mapper
+        ((RestAssuredResponseImpl) response).setConfig(requestSpec.getConfig());
+        return response;
+    };
+
+    static class CannedPetClient extends PetClient {
+        CannedPetClient() {
+            super(BASE_URL);
+        }
+
+        @Override
+        protected RequestSpecification getRequestSpecification(String baseUrl) {
+            return super.getRequestSpecification(baseUrl).filter(CANNED_RESPONSE);
+        }
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        request = PetTestDataBuilder.buildCreatePetRequest();
+        petJson = ApiObjectMapper.getInstance().writeValueAsBytes(request);
+        PetRequest[] pets = new PetRequest[100];
+        for (int i = 0; i < pets.length; i++) {
+            pets[i] = PetTestDataBuilder.buildCreatePetRequest();
+        }
+        petListJson = ApiObjectMapper.getInstance().getObjectMapper().writeValueAsBytes(pets);
+        client = new CannedPetClient();
+    }
+
+    @Benchmark
+    public PetClient createClient() {
+        return new PetClient(BASE_URL);
+    }
+
+    @Benchmark
+    public PetResponse getPetById() {
+        return client.getPetById(request.getId());
+    }
+
+    @Benchmark
+    public PetResponse[] findPetsByStatus() {
+        return client.findPetsByStatus("available");
+    }
+
+    @Benchmark
+    public PetResponse updatePet() {
+        return client.updatePet(request);
+    }
+}
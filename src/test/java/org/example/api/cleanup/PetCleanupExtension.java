@@ -0,0 +1,21 @@
+package org.example.api.cleanup;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// Starts the cleanup reaper at suite start (reclaiming pets leaked by crashed runs) and drains it when the run ends
+public class PetCleanupExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PetCleanupExtension.class);
+
+    // Register before PetFixtureExtension: root store resources close in reverse order, so the pool hands its pets over before the drain
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                PetCleanupReaper.class,
+                key -> {
+                    PetCleanupReaper reaper = PetCleanupReaper.getInstance();
+                    return (ExtensionContext.Store.CloseableResource) reaper::drain;
+                },
+                ExtensionContext.Store.CloseableResource.class);
+    }
+}
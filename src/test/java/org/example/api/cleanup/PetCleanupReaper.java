@@ -0,0 +1,116 @@
+package org.example.api.cleanup;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.client.AsyncPetClient;
+import org.example.utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Deletes pets in concurrent batches on a background thread so cleanup stays off the tests' critical path
+public final class PetCleanupReaper {
+    private static final Logger logger = LogManager.getLogger(PetCleanupReaper.class);
+
+    private static final int BATCH_SIZE = ConfigReader.getIntProperty("petReaperBatchSize", 20);
+    private static final long INTERVAL_MILLIS = ConfigReader.getLongProperty("petReaperIntervalMillis", 500);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = ConfigReader.getLongProperty("petReaperShutdownTimeoutSeconds", 30);
+    private static final int MAX_ROUNDS = 3;
+
+    private static final PetCleanupReaper instance = new PetCleanupReaper();
+
+    private final PetLedger ledger = PetLedger.getInstance();
+    private final AsyncPetClient petClient = new AsyncPetClient();
+    private final ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Integer> rounds = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pet-cleanup-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PetCleanupReaper() {
+        Set<Long> orphans = ledger.reclaimOrphans();
+        if (!orphans.isEmpty()) {
+            logger.info("Scheduling {} pets leaked by a previous run for deletion", orphans.size());
+            queue.addAll(orphans);
+        }
+        scheduler.scheduleWithFixedDelay(this::reapBatch, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "pet-cleanup-drain"));
+    }
+
+    // Starting the reaper reclaims pets recorded by runs that died before cleaning up
+    public static PetCleanupReaper getInstance() {
+        return instance;
+    }
+
+    // Queues a pet for deletion; the call returns immediately
+    public void schedule(Long petId) {
+        if (petId != null) {
+            logger.debug("Scheduled pet ID: {} for cleanup", petId);
+            queue.add(petId);
+        }
+    }
+
+    private void reapBatch() {
+        List<Long> batch = new ArrayList<>();
+        Long petId;
+        while (batch.size() < BATCH_SIZE && (petId = queue.poll()) != null) {
+            batch.add(petId);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        logger.info("Deleting a batch of {} pets", batch.size());
+        batch.forEach(this::delete);
+    }
+
+    // Same contract as the synchronous cleanup: delete until accepted, then until the store answers 404. A pet that
+    // is already gone (deleted by its test, or a ledger entry of a previous run) is done at the first 404.
+    private void delete(Long petId) {
+        CompletableFuture<Void> deletion = petClient.deletePetOrConfirmGone(petId, 10, 1000)
+                .handle((status, error) -> error == null && status == 404)
+                .thenCompose(gone -> gone
+                        ? CompletableFuture.completedFuture(404)
+                        : petClient.deletePetUntilNotFound(petId, 10, 500))
+                .handle((status, error) -> {
+                    if (error == null && status == 404) {
+                        ledger.recordDeleted(petId);
+                        rounds.remove(petId);
+                    } else if (rounds.merge(petId, 1, Integer::sum) < MAX_ROUNDS) {
+                        logger.warn("Pet ID: {} is not confirmed deleted yet, requeueing", petId);
+                        queue.add(petId);
+                    } else {
+                        logger.error("Giving up on deleting pet ID: {}, it stays in the ledger for the next run", petId);
+                    }
+                    return null;
+                });
+        inFlight.add(deletion);
+        deletion.whenComplete((ignored, error) -> inFlight.remove(deletion));
+    }
+
+    // Flushes whatever is still queued within the shutdown budget; runs at the end of the test run and again at JVM exit
+    public synchronized void drain() {
+        scheduler.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline && (!queue.isEmpty() || !inFlight.isEmpty())) {
+            reapBatch();
+            try {
+                CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).get(INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // Keep looping until the deadline; requeued pets are picked up on the next pass
+            }
+        }
+        ledger.closeIfSettled();
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.api.cleanup;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.ConfigReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Append-only on-disk record of every pet this JVM created and confirmed deleted.
+// Each JVM owns one ledger file and holds a lock on it for its lifetime, so a file
+// whose lock can be taken belongs to a run that died and its live pets can be reclaimed.
+public final class PetLedger {
+    private static final Logger logger = LogManager.getLogger(PetLedger.class);
+
+    private static final Path LEDGER_DIR = Paths.get(ConfigReader.getProperty("petLedgerDir", ".pet-ledger"));
+    private static final String FILE_PREFIX = "ledger-";
+    private static final String FILE_SUFFIX = ".log";
+    private static final char CREATED = '+';
+    private static final char DELETED = '-';
+
+    private static final PetLedger instance = new PetLedger();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Set<Long> livePetIds = ConcurrentHashMap.newKeySet();
+
+    private PetLedger() {
+        try {
+            Files.createDirectories(LEDGER_DIR);
+            file = LEDGER_DIR.resolve(FILE_PREFIX + System.currentTimeMillis() + "-" + UUID.randomUUID() + FILE_SUFFIX);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            // Released by the OS when the JVM exits, even on a crash
+            channel.lock();
+            logger.info("Recording created pets in {}", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open pet ledger in " + LEDGER_DIR, e);
+        }
+    }
+
+    public static PetLedger getInstance() {
+        return instance;
+    }
+
+    public void recordCreated(Long petId) {
+        if (petId != null && livePetIds.add(petId)) {
+            append(CREATED, petId);
+        }
+    }
+
+    public void recordDeleted(Long petId) {
+        if (petId != null && livePetIds.remove(petId)) {
+            append(DELETED, petId);
+        }
+    }
+
+    // Pets created by this JVM that have not been confirmed deleted yet
+    public Set<Long> getLivePetIds() {
+        return new LinkedHashSet<>(livePetIds);
+    }
+
+    // Removes this JVM's ledger on a clean shutdown once nothing is left to reclaim
+    public synchronized void closeIfSettled() {
+        if (!livePetIds.isEmpty()) {
+            logger.warn("{} pets are still recorded in {}, they will be reclaimed by the next run", livePetIds.size(), file);
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not remove pet ledger {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Takes over the live pets of ledgers left behind by dead runs; they are copied into this
+    // JVM's ledger before the orphan file is removed, so a crash during reclaim loses nothing
+    public Set<Long> reclaimOrphans() {
+        Set<Long> reclaimed = new LinkedHashSet<>();
+        try (DirectoryStream<Path> ledgers = Files.newDirectoryStream(LEDGER_DIR, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path ledger : ledgers) {
+                if (!ledger.equals(file)) {
+                    reclaimed.addAll(reclaim(ledger));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not scan pet ledgers in {}: {}", LEDGER_DIR, e.getMessage());
+        }
+        return reclaimed;
+    }
+
+    private Set<Long> reclaim(Path ledger) {
+        try (FileChannel orphan = FileChannel.open(ledger, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock lock = orphan.tryLock()) {
+            if (lock == null) {
+                // Another run is still alive and owns this ledger
+                return new LinkedHashSet<>();
+            }
+            Set<Long> live = livePets(new String(Files.readAllBytes(ledger), StandardCharsets.UTF_8));
+            live.forEach(this::recordCreated);
+            Files.delete(ledger);
+            logger.info("Reclaimed {} pets left behind in {}", live.size(), ledger.getFileName());
+            return live;
+        } catch (NoSuchFileException e) {
+            return new LinkedHashSet<>();
+        } catch (IOException e) {
+            logger.warn("Could not reclaim pet ledger {}: {}", ledger, e.getMessage());
+            return new LinkedHashSet<>();
+        }
+    }
+
+    private static Set<Long> livePets(String content) {
+        Set<Long> live = new LinkedHashSet<>();
+        // A record without its trailing newline was cut off by the crash and is ignored
+        String[] lines = content.substring(0, content.lastIndexOf('\n') + 1).split("\n");
+        for (String line : lines) {
+            if (line.length() < 2) {
+                continue;
+            }
+            Long petId = Long.valueOf(line.substring(1));
+            if (line.charAt(0) == CREATED) {
+                live.add(petId);
+            } else if (line.charAt(0) == DELETED) {
+                live.remove(petId);
+            }
+        }
+        return live;
+    }
+
+    // One write per record; with O_APPEND the line reaches the OS intact even if the JVM dies right after
+    private synchronized void append(char operation, Long petId) {
+        try {
+            channel.write(ByteBuffer.wrap((operation + String.valueOf(petId) + "\n").getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            logger.warn("Could not record pet ID: {} in ledger: {}", petId, e.getMessage());
+        }
+    }
+}
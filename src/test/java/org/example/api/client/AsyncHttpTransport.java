@@ -0,0 +1,153 @@
+package org.example.api.client;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.ConfigReader;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// JVM-wide non-blocking HTTP transport shared by every async API client
+public final class AsyncHttpTransport {
+    private static final Logger logger = LogManager.getLogger(AsyncHttpTransport.class);
+
+    private static final int MAX_TOTAL = ConfigReader.getIntProperty("apiAsyncPoolMaxTotal", 100);
+    private static final int MAX_PER_ROUTE = ConfigReader.getIntProperty("apiAsyncPoolMaxPerRoute", 50);
+    private static final int CONNECT_TIMEOUT_MILLIS = ConfigReader.getIntProperty("apiConnectTimeoutMillis", 5000);
+    private static final int READ_TIMEOUT_MILLIS = ConfigReader.getIntProperty("apiReadTimeoutMillis", 15000);
+
+    private static final PoolingNHttpClientConnectionManager connectionManager = createConnectionManager();
+    private static final CloseableHttpAsyncClient httpClient = createClient();
+    private static final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("async-http-scheduler"));
+
+    private AsyncHttpTransport() {
+    }
+
+    // Status code and fully read body of a completed exchange
+    public static final class Result {
+        private final int statusCode;
+        private final byte[] body;
+
+        Result(int statusCode, byte[] body) {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    // Sends the request without blocking the caller; completion runs on an I/O dispatcher thread,
+    // so dependent stages must not block
+    public static CompletableFuture<Result> execute(HttpUriRequest request) {
+        logger.debug("Sending async {} request to {}", request.getMethod(), request.getURI());
+        CompletableFuture<Result> result = new CompletableFuture<>();
+
+        Future<HttpResponse> inFlight = httpClient.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    byte[] body = response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+                    result.complete(new Result(response.getStatusLine().getStatusCode(), body));
+                } catch (IOException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception error) {
+                result.completeExceptionally(error);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+
+        // Cancelling the returned future aborts the exchange on the wire and hands its connection back
+        result.whenComplete((ignored, error) -> {
+            if (result.isCancelled()) {
+                inFlight.cancel(true);
+                request.abort();
+            }
+        });
+        return result;
+    }
+
+    // Runs the action after the given delay without parking a caller thread
+    public static ScheduledFuture<?> schedule(Runnable action, long delayMs) {
+        return scheduler.schedule(action, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Connections to the host currently leased to exchanges, e.g. to check that cancelled ones were released
+    public static int leasedConnections(String host, int port) {
+        return connectionManager.getRoutes().stream()
+                .filter(route -> route.getTargetHost().getHostName().equalsIgnoreCase(host)
+                        && route.getTargetHost().getPort() == port)
+                .mapToInt(route -> connectionManager.getStats(route).getLeased())
+                .sum();
+    }
+
+    private static PoolingNHttpClientConnectionManager createConnectionManager() {
+        try {
+            DefaultConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT, daemonThreadFactory("async-http-io"));
+            PoolingNHttpClientConnectionManager manager = new PoolingNHttpClientConnectionManager(ioReactor);
+            manager.setMaxTotal(MAX_TOTAL);
+            manager.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+            return manager;
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("Could not start the async HTTP I/O reactor", e);
+        }
+    }
+
+    private static CloseableHttpAsyncClient createClient() {
+        logger.info("Starting async HTTP client (maxTotal={}, maxPerRoute={})", MAX_TOTAL, MAX_PER_ROUTE);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT_MILLIS)
+                .setSocketTimeout(READ_TIMEOUT_MILLIS)
+                .build();
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setThreadFactory(daemonThreadFactory("async-http-reactor"))
+                .build();
+        client.start();
+        // No shutdown hook: the I/O threads are daemons, and the cleanup reaper still needs the client while the JVM exits
+        return client;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.api.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.http.HttpEntity;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.cleanup.PetLedger;
+import org.example.api.enums.PetEndpoints;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.request.UpdatePetFormRequest;
+import org.example.api.models.response.ApiResponse;
+import org.example.api.models.response.PetResponse;
+import org.example.api.retry.RetryPolicy;
+import org.example.api.stub.PetStoreStub;
+import org.example.api.utils.ApiObjectMapper;
+import org.example.utils.ConfigReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Non-blocking counterpart of PetClient: every call returns immediately with a CompletableFuture, and cancelling
+// that future aborts the request in flight and any retry still to come
+public class AsyncPetClient {
+    private static final Logger logger = LogManager.getLogger(AsyncPetClient.class);
+    private static final ApiObjectMapper objectMapper = ApiObjectMapper.getInstance();
+    private static final String IMAGE_PATH = "src/test/java/org/example/api/images/dogImage.png";
+
+    private final String baseUrl;
+
+    public AsyncPetClient() {
+        this(PetStoreStub.resolve(ConfigReader.getProperty("petStoreBaseUrl")));
+    }
+
+    public AsyncPetClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    // Creates a new pet
+    public CompletableFuture<PetResponse> createPet(PetRequest petRequest) {
+        logger.info("Creating pet asynchronously: {}", petRequest.getName());
+        HttpPost request = new HttpPost(url(PetEndpoints.CREATE_PET.getPath()));
+        request.setEntity(jsonEntity(petRequest));
+        return then(send(request), result -> {
+            PetResponse petResponse = read(result, PetResponse.class);
+            PetLedger.getInstance().recordCreated(petResponse == null ? petRequest.getId() : petResponse.getId());
+            return petResponse;
+        });
+    }
+
+    // Updates an existing pet's information
+    public CompletableFuture<PetResponse> updatePet(PetRequest petRequest) {
+        logger.info("Updating pet ID asynchronously: {}", petRequest.getId());
+        HttpPut request = new HttpPut(url(PetEndpoints.UPDATE_PET.getPath()));
+        request.setEntity(jsonEntity(petRequest));
+        return then(send(request), result -> read(result, PetResponse.class));
+    }
+
+    // Retrieves a list of pets based on their status (available, pending, sold)
+    public CompletableFuture<PetResponse[]> findPetsByStatus(String status) {
+        logger.info("Finding pets by status asynchronously: {}", status);
+        HttpGet request = new HttpGet(url(PetEndpoints.FIND_BY_STATUS.getPath()) + "?status=" + encode(status));
+        return then(send(request), result -> read(result, PetResponse[].class));
+    }
+
+    // Looks up a specific pet using its ID
+    public CompletableFuture<PetResponse> getPetById(Long petId) {
+        logger.info("Getting pet ID asynchronously: {}", petId);
+        return then(send(getPetRequest(petId)), result -> read(result, PetResponse.class));
+    }
+
+    // Retrieves a pet by ID, re-polling on the scheduler instead of sleeping until it responds with 200
+    public CompletableFuture<PetResponse> getPetByIdWithRetry(Long petId, int maxRetries, long delayMs) {
+        logger.info("Getting pet ID asynchronously: {} with retry (max: {})", petId, maxRetries);
+        return then(retry(() -> send(getPetRequest(petId)), maxRetries, delayMs),
+                result -> read(result, PetResponse.class));
+    }
+
+    // Updates a pet's information using form data instead of JSON
+    public CompletableFuture<ApiResponse> updatePetWithForm(Long petId, UpdatePetFormRequest updateRequest) {
+        logger.info("Updating pet ID asynchronously: {} with form data", petId);
+        return then(send(formRequest(petId, updateRequest)), result -> read(result, ApiResponse.class));
+    }
+
+    // Updates a pet's information with form data, retrying until it responds with 200
+    public CompletableFuture<ApiResponse> updatePetWithFormWithRetry(Long petId, UpdatePetFormRequest updateRequest, int maxRetries, long delayMs) {
+        logger.info("Updating pet ID asynchronously: {} with retry (max: {})", petId, maxRetries);
+        return then(retry(() -> send(formRequest(petId, updateRequest)), maxRetries, delayMs),
+                result -> read(result, ApiResponse.class));
+    }
+
+    // Uploads the sample dog image for a pet
+    public CompletableFuture<ApiResponse> uploadImage(Long petId) {
+        logger.info("Uploading image asynchronously for pet ID: {}", petId);
+        HttpPost request = new HttpPost(url(PetEndpoints.UPLOAD_IMAGE.getPath(), petId));
+        request.setEntity(multipartEntity(new File(IMAGE_PATH)));
+        return then(send(request), result -> read(result, ApiResponse.class));
+    }
+
+    // Removes a pet from the store
+    public CompletableFuture<ApiResponse> deletePet(Long petId) {
+        logger.info("Deleting pet ID asynchronously: {}", petId);
+        return then(sendDelete(petId), result -> read(result, ApiResponse.class));
+    }
+
+    // Deletes a pet, retrying until it responds with 200
+    public CompletableFuture<ApiResponse> deletePetWithRetry(Long petId, int maxRetries, long delayMs) {
+        logger.info("Deleting pet ID asynchronously: {} with retry (max: {})", petId, maxRetries);
+        return then(retry(() -> sendDelete(petId), maxRetries, delayMs),
+                result -> read(result, ApiResponse.class));
+    }
+
+    // Deletes a pet, retrying until the store answers 200, or 404 when the pet is already gone; completes with the
+    // last status code
+    public CompletableFuture<Integer> deletePetOrConfirmGone(Long petId, int maxRetries, long delayMs) {
+        logger.info("Deleting pet ID asynchronously: {} unless already gone (max attempts: {})", petId, maxRetries);
+        RetryPolicy<AsyncHttpTransport.Result> policy = RetryPolicy.fromLegacy(maxRetries, delayMs,
+                result -> result.getStatusCode() == 200 || result.getStatusCode() == 404);
+        return then(poll(() -> sendDelete(petId), policy), AsyncHttpTransport.Result::getStatusCode);
+    }
+
+    // Keeps deleting a pet until the store stops answering 200; completes with the last status code
+    public CompletableFuture<Integer> deletePetUntilNotFound(Long petId, int maxRetries, long delayMs) {
+        logger.info("Deleting pet ID asynchronously: {} until not found (max attempts: {})", petId, maxRetries);
+        RetryPolicy<AsyncHttpTransport.Result> policy = RetryPolicy.fromLegacy(maxRetries, delayMs, result -> result.getStatusCode() != 200);
+        return then(poll(() -> sendDelete(petId), policy), AsyncHttpTransport.Result::getStatusCode);
+    }
+
+    // Re-sends a freshly built request until it responds with 200 or the legacy attempts x delay budget runs out
+    private CompletableFuture<AsyncHttpTransport.Result> retry(Supplier<CompletableFuture<AsyncHttpTransport.Result>> exchange,
+                                                               int maxAttempts, long delayMs) {
+        RetryPolicy<AsyncHttpTransport.Result> policy = RetryPolicy.fromLegacy(maxAttempts, delayMs, result -> result.getStatusCode() == 200);
+        return then(poll(exchange, policy), result -> {
+            if (!policy.getSuccessWhen().test(result)) {
+                throw new RuntimeException("Operation failed with status code " + result.getStatusCode());
+            }
+            return result;
+        });
+    }
+
+    // Scheduler-driven equivalent of Retrier: completes with the first accepted result, or the last one once the policy gives up
+    private CompletableFuture<AsyncHttpTransport.Result> poll(Supplier<CompletableFuture<AsyncHttpTransport.Result>> exchange,
+                                                              RetryPolicy<AsyncHttpTransport.Result> policy) {
+        CompletableFuture<AsyncHttpTransport.Result> outcome = new CompletableFuture<>();
+        long deadline = System.nanoTime() + policy.getDeadline().toNanos();
+        attempt(exchange, policy, 1, deadline, outcome);
+        return outcome;
+    }
+
+    private void attempt(Supplier<CompletableFuture<AsyncHttpTransport.Result>> exchange, RetryPolicy<AsyncHttpTransport.Result> policy,
+                         int attempt, long deadline, CompletableFuture<AsyncHttpTransport.Result> outcome) {
+        if (outcome.isDone()) {
+            return;
+        }
+
+        CompletableFuture<AsyncHttpTransport.Result> sent = exchange.get();
+        cancelWith(outcome, sent);
+        sent.whenComplete((result, error) -> {
+            // A cancelled caller gets no further attempts
+            if (outcome.isDone()) {
+                return;
+            }
+            boolean retryable;
+            if (error == null) {
+                if (policy.getSuccessWhen().test(result)) {
+                    outcome.complete(result);
+                    return;
+                }
+                logger.warn("Async attempt {} did not succeed, status code {}", attempt, result.getStatusCode());
+                retryable = policy.getRetryWhen().test(result);
+            } else {
+                logger.error("Error during async attempt {}: {}", attempt, error.getMessage());
+                retryable = policy.getRetryOnException().test(error);
+            }
+
+            long backoff = policy.backoffMillis(attempt);
+            boolean withinDeadline = attempt < policy.getMinAttempts()
+                    || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) <= deadline;
+            if (retryable && attempt < policy.getMaxAttempts() && withinDeadline) {
+                cancelWith(outcome, AsyncHttpTransport.schedule(() -> attempt(exchange, policy, attempt + 1, deadline, outcome), backoff));
+            } else if (error != null) {
+                outcome.completeExceptionally(new RuntimeException("Operation failed after " + attempt + " attempts", error));
+            } else {
+                outcome.complete(result);
+            }
+        });
+    }
+
+    private CompletableFuture<AsyncHttpTransport.Result> send(HttpUriRequest request) {
+        return then(AsyncHttpTransport.execute(request), result -> {
+            logger.info("Received async response with status {} for {} {}", result.getStatusCode(), request.getMethod(), request.getURI().getPath());
+            return result;
+        });
+    }
+
+    // A 200 or 404 means the pet is gone, so it no longer needs reclaiming by a later run
+    private CompletableFuture<AsyncHttpTransport.Result> sendDelete(Long petId) {
+        return then(send(new HttpDelete(url(PetEndpoints.DELETE_PET.getPath(), petId))), result -> {
+            if (result.getStatusCode() == 200 || result.getStatusCode() == 404) {
+                PetLedger.getInstance().recordDeleted(petId);
+            }
+            return result;
+        });
+    }
+
+    // thenApply whose stage, when cancelled, also cancels its source: a plain dependent stage leaves the source running,
+    // so cancel() on a returned future would never reach the exchange or the pending retry behind it
+    private static <S, T> CompletableFuture<T> then(CompletableFuture<S> source, Function<? super S, ? extends T> mapping) {
+        CompletableFuture<T> stage = source.thenApply(mapping);
+        cancelWith(stage, source);
+        return stage;
+    }
+
+    private static void cancelWith(CompletableFuture<?> stage, Future<?> source) {
+        stage.whenComplete((ignored, error) -> {
+            if (stage.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+    }
+
+    private HttpGet getPetRequest(Long petId) {
+        return new HttpGet(url(PetEndpoints.GET_PET_BY_ID.getPath(), petId));
+    }
+
+    private HttpEntityEnclosingRequestBase formRequest(Long petId, UpdatePetFormRequest updateRequest) {
+        List<NameValuePair> formParams = Arrays.asList(
+                new BasicNameValuePair("name", updateRequest.getName()),
+                new BasicNameValuePair("status", updateRequest.getStatus())
+        );
+        HttpPost request = new HttpPost(url(PetEndpoints.UPDATE_PET_WITH_FORM.getPath(), petId));
+        request.setEntity(new UrlEncodedFormEntity(formParams, StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private String url(String path) {
+        return baseUrl + path;
+    }
+
+    private String url(String path, Long petId) {
+        return baseUrl + path.replace("{petId}", String.valueOf(petId));
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteArrayEntity jsonEntity(Object body) {
+        try {
+            return new ByteArrayEntity(objectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize request body", e);
+        }
+    }
+
+    // Multipart entities cannot be streamed by the NIO producer, so the body is buffered up front
+    private static ByteArrayEntity multipartEntity(File file) {
+        HttpEntity multipart = MultipartEntityBuilder.create()
+                .addBinaryBody("file", file)
+                .build();
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            multipart.writeTo(buffer);
+            return new ByteArrayEntity(buffer.toByteArray(), ContentType.parse(multipart.getContentType().getValue()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T read(AsyncHttpTransport.Result result, Class<T> type) {
+        if (result.getBody().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(result.getBody(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialize response with status " + result.getStatusCode(), e);
+        }
+    }
+}
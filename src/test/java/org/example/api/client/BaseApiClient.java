@@ -1,38 +1,77 @@
 package org.example.api.client;
 
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import org.apache.http.conn.ConnectionReleaseTrigger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.api.hedging.HedgedRequestExecutor;
+import org.example.api.hedging.HedgingPolicy;
+import org.example.api.logging.HttpExchangeBuffer;
+import org.example.api.logging.HttpExchangeRecorder;
+import org.example.api.metrics.ApiLatencyRecorder;
+import org.example.api.metrics.TestLatencySamples;
+import org.example.api.retry.ResponsePredicates;
+import org.example.api.retry.Retrier;
+import org.example.api.retry.RetryPolicy;
+import org.example.api.retry.RetryResult;
+import org.example.api.stub.PetStoreStub;
+import org.example.api.utils.JsonArrayStream;
 import org.example.api.utils.QueryParamUtil;
 import org.example.utils.ConfigReader;
+import org.example.utils.TestLogExtension;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
-
-import static io.restassured.RestAssured.given;
+import java.util.stream.Stream;
 
 // Base class for making API requests
 public class BaseApiClient {
     private static final Logger logger = LogManager.getLogger(BaseApiClient.class);
-    protected RequestSpecification requestSpec;
+    // Shared so the latency window and the extra-load budget cover every client in the JVM
+    private static final HedgedRequestExecutor hedgedRequestExecutor = new HedgedRequestExecutor();
+
+    protected final RequestSpecification requestSpec;
+    protected final HedgingPolicy hedgingPolicy;
 
     public BaseApiClient() {
-        logger.info("Setting up API client for {}", ConfigReader.getProperty("petStoreBaseUrl"));
-        // Set the base URL for all requests
-        RestAssured.baseURI = ConfigReader.getProperty("petStoreBaseUrl");
-        requestSpec = getRequestSpecification();
+        this(PetStoreStub.resolve(ConfigReader.getProperty("petStoreBaseUrl")));
+    }
+
+    public BaseApiClient(String baseUrl) {
+        this(baseUrl, HedgingPolicy.fromConfig());
+    }
+
+    public BaseApiClient(String baseUrl, HedgingPolicy hedgingPolicy) {
+        logger.info("Setting up API client for {}", baseUrl);
+        requestSpec = getRequestSpecification(baseUrl);
+        this.hedgingPolicy = hedgingPolicy;
     }
 
-    protected RequestSpecification getRequestSpecification() {
-        return RestAssured.given();
+    // Per-client spec: base URL is bound here instead of the global RestAssured.baseURI,
+    // the config routes every call through the shared keep-alive pool, exchanges are
+    // recorded for the failure report instead of being printed, and every call is timed per endpoint
+    protected RequestSpecification getRequestSpecification(String baseUrl) {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setConfig(HttpConnectionPool.getRestAssuredConfig())
+                .addFilter(HttpExchangeRecorder.getInstance())
+                .addFilter(ApiLatencyRecorder.getInstance())
+                .build();
     }
 
-    // Makes a GET request with optional query parameters
+    // Makes a GET request with optional query parameters, hedged when the hedging policy is enabled
     protected Response getRequest(Map<String, Object> queryParams, String endpoint) {
+        return hedgeIfEnabled(endpoint, () -> sendGetRequest(queryParams, endpoint));
+    }
+
+    private Response sendGetRequest(Map<String, Object> queryParams, String endpoint) {
         logger.info("Sending GET request to {}", endpoint);
 
         RequestSpecification spec = given()
@@ -44,9 +83,6 @@ public class BaseApiClient {
         }
 
         Response response = spec
-                .log().uri()
-                .log().headers()
-                .log().method()
                 .when()
                 .get(endpoint)
                 .then()
@@ -54,13 +90,15 @@ public class BaseApiClient {
                 .response();
 
         logger.info("Received response with status {}", response.getStatusCode());
-
-        response.then().log().status().log().body();
         return response;
     }
 
-    // Makes a GET request with path parameters (like IDs in the URL)
+    // Makes a GET request with path parameters (like IDs in the URL), hedged when the hedging policy is enabled
     protected Response getRequestWithPath(Map<String, Object> pathParams, String endpoint) {
+        return hedgeIfEnabled(endpoint, () -> sendGetRequestWithPath(pathParams, endpoint));
+    }
+
+    private Response sendGetRequestWithPath(Map<String, Object> pathParams, String endpoint) {
         logger.info("Sending GET request to {} with path parameters", endpoint);
 
         RequestSpecification spec = given()
@@ -72,9 +110,6 @@ public class BaseApiClient {
         }
 
         Response response = spec
-                .log().uri()
-                .log().headers()
-                .log().method()
                 .when()
                 .get(endpoint)
                 .then()
@@ -82,11 +117,36 @@ public class BaseApiClient {
                 .response();
 
         logger.info("Received response with status {}", response.getStatusCode());
-
-        response.then().log().status().log().body();
         return response;
     }
 
+    // Makes a GET request for a JSON array and parses its elements one at a time as the body arrives. Closing the
+    // stream after reading it all reuses the connection; closing it early aborts the connection, so a short-circuit
+    // stops the download. Not hedged: a hedge would download the same large body twice.
+    protected <T> Stream<T> getRequestAsJsonArrayStream(Map<String, Object> queryParams, String endpoint, Class<T> elementType) {
+        List<ConnectionReleaseTrigger> connection = new ArrayList<>(1);
+        Response response = HttpConnectionPool.withConnection(
+                () -> HttpExchangeRecorder.streamed(() -> sendGetRequest(queryParams, endpoint)), connection::add);
+        return JsonArrayStream.of(response.asInputStream(), elementType, () -> connection.forEach(BaseApiClient::abort));
+    }
+
+    private static void abort(ConnectionReleaseTrigger connection) {
+        try {
+            connection.abortConnection();
+        } catch (IOException e) {
+            logger.debug("Could not abort connection, the body will be drained on close: {}", e.getMessage());
+        }
+    }
+
+    // Only idempotent requests may be routed here, since a hedge can reach the server more than once
+    private Response hedgeIfEnabled(String endpoint, Supplier<Response> request) {
+        if (!hedgingPolicy.isEnabled()) {
+            return request.get();
+        }
+        return hedgedRequestExecutor.execute(endpoint,
+                HttpExchangeBuffer.propagate(TestLatencySamples.propagate(TestLogExtension.propagate(request))), hedgingPolicy);
+    }
+
     // Makes a POST request with a JSON body
     protected Response postRequest(Object body, String endpoint) {
         logger.info("Sending POST request to {}", endpoint);
@@ -94,10 +154,6 @@ public class BaseApiClient {
         Response response = given()
                 .contentType(ContentType.JSON)
                 .body(body)
-                .log().uri()
-                .log().headers()
-                .log().method()
-                .log().body()
                 .when()
                 .post(endpoint)
                 .then()
@@ -105,18 +161,26 @@ public class BaseApiClient {
                 .response();
 
         logger.info("Received response with status {}", response.getStatusCode());
-
-        response.then().log().status().log().body();
         return response;
     }
 
     // Makes a POST request with form data (application/x-www-form-urlencoded)
     protected Response postFormRequest(List<QueryParamUtil> formParams, String endpoint) {
+        return postFormRequest(null, formParams, endpoint);
+    }
+
+    // Makes a POST request with form data to a path with parameters, keeping the path template intact for metrics
+    protected Response postFormRequest(Map<String, Object> pathParams, List<QueryParamUtil> formParams, String endpoint) {
         logger.info("Sending POST form request to {}", endpoint);
 
         RequestSpecification spec = given()
                 .contentType(ContentType.URLENC);
 
+        if (pathParams != null) {
+            pathParams.forEach((key, value) -> 
+                spec.pathParam(key, value));
+        }
+
         if (formParams != null) {
             formParams.forEach(param -> 
                 spec.formParam(param.getKey(), param.getValue()));
@@ -124,10 +188,6 @@ public class BaseApiClient {
 
         // Execute the request and capture the response
         Response response = spec
-                .log().uri()
-                .log().headers()
-                .log().method()
-                .log().params()
                 .when()
                 .post(endpoint)
                 .then()
@@ -135,8 +195,6 @@ public class BaseApiClient {
                 .response();
 
         logger.info("Received response with status {}", response.getStatusCode());
-
-        response.then().log().status().log().body();
         return response;
     }
 
@@ -147,10 +205,6 @@ public class BaseApiClient {
         Response response = given()
                 .contentType(ContentType.JSON)
                 .body(body)
-                .log().uri()
-                .log().headers()
-                .log().method()
-                .log().body()
                 .when()
                 .put(endpoint)
                 .then()
@@ -158,8 +212,6 @@ public class BaseApiClient {
                 .response();
 
         logger.info("Received response with status {}", response.getStatusCode());
-
-        response.then().log().status().log().body();
         return response;
     }
 
@@ -176,9 +228,6 @@ public class BaseApiClient {
         }
 
         Response response = spec
-                .log().uri()
-                .log().headers()
-                .log().method()
                 .when()
                 .delete(endpoint)
                 .then()
@@ -186,47 +235,39 @@ public class BaseApiClient {
                 .response();
 
         logger.info("Received response with status {}", response.getStatusCode());
-
-        response.then().log().status().log().body();
         return response;
     }
     
-    // Retries an operation with exponential backoff until success or max attempts reached
+    // Retries an operation until it responds with 200, within the legacy attempts x delay budget
     protected <T> T retryOperation(Supplier<Response> operation, Class<T> responseType, int maxAttempts, long delayBetweenAttempts) {
-        logger.info("Starting operation with {} retry attempts", maxAttempts);
-        
-        Exception lastError = null;
-
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-            try {
-                logger.info("Making attempt {} of {}", attempt, maxAttempts);
-                Response response = operation.get();
-
-                if (response.getStatusCode() == 200) {
-                    return response.as(responseType);
-                }
-                
-                logger.warn("Attempt {} failed with status code {}", attempt, response.getStatusCode());
-            } catch (Exception error) {
-                lastError = error;
-                logger.error("Error during attempt {}: {}", attempt, error.getMessage());
-            }
-
-            try {
-                Thread.sleep(delayBetweenAttempts);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+        return retryOperation(operation, responseType,
+                RetryPolicy.fromLegacy(maxAttempts, delayBetweenAttempts, ResponsePredicates.statusIs(200)));
+    }
+
+    // Retries an operation with exponential backoff and jitter until the policy accepts the response or its deadline passes
+    protected <T> T retryOperation(Supplier<Response> operation, Class<T> responseType, RetryPolicy<Response> policy) {
+        RetryResult<Response> result = retryUntil(operation, policy);
+
+        if (result.isSuccessful()) {
+            return result.getLastResult().as(responseType);
         }
 
-        if (lastError != null) {
-            throw new RuntimeException("Operation failed after " + maxAttempts + " attempts", lastError);
+        String message = "Operation failed after " + result.getAttempts().size() + " attempts in " + result.getElapsedMillis() + " ms";
+        if (result.getLastError() != null) {
+            throw new RuntimeException(message, result.getLastError());
         }
-        
-        throw new RuntimeException("Operation failed after " + maxAttempts + " attempts");
+        throw new RuntimeException(message);
     }
-    
+
+    // Polls an operation under the given policy and returns the outcome without throwing
+    protected RetryResult<Response> retryUntil(Supplier<Response> operation, RetryPolicy<Response> policy) {
+        logger.info("Starting operation with a {} ms retry deadline", policy.getDeadline().toMillis());
+        RetryResult<Response> result = Retrier.execute(operation, policy);
+        logger.info("Operation finished after {} attempts: {} ms active, {} ms backing off",
+                result.getAttempts().size(), result.getActiveMillis(), result.getBackoffMillis());
+        return result;
+    }
+
     private RequestSpecification given() {
         return RestAssured.given().spec(requestSpec);
     }
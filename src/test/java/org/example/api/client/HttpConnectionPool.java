@@ -0,0 +1,112 @@
+package org.example.api.client;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.utils.ApiObjectMapper;
+import org.example.utils.ConfigReader;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// JVM-wide keep-alive connection pool shared by every API client
+public final class HttpConnectionPool {
+    private static final Logger logger = LogManager.getLogger(HttpConnectionPool.class);
+
+    private static final int MAX_TOTAL = ConfigReader.getIntProperty("apiPoolMaxTotal", 20);
+    private static final int MAX_PER_ROUTE = ConfigReader.getIntProperty("apiPoolMaxPerRoute", 10);
+    private static final long IDLE_EVICTION_SECONDS = ConfigReader.getLongProperty("apiPoolIdleEvictionSeconds", 30);
+    private static final int CONNECT_TIMEOUT_MILLIS = ConfigReader.getIntProperty("apiConnectTimeoutMillis", 5000);
+    private static final int READ_TIMEOUT_MILLIS = ConfigReader.getIntProperty("apiReadTimeoutMillis", 15000);
+
+    // Set while a withConnection request runs on this thread
+    private static final ThreadLocal<Consumer<ConnectionReleaseTrigger>> connectionListener = new ThreadLocal<>();
+
+    private static final HttpClient httpClient = createHttpClient();
+    private static final RestAssuredConfig restAssuredConfig = createRestAssuredConfig();
+
+    private HttpConnectionPool() {
+    }
+
+    // Immutable config handing the shared client and JSON mapper to RestAssured for every request
+    public static RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    // Runs the request on this thread and hands the listener the pooled connection its response arrived on, so the
+    // caller can abort it later instead of reading an unwanted rest of the body just to keep the connection alive
+    static <T> T withConnection(Supplier<T> request, Consumer<ConnectionReleaseTrigger> listener) {
+        connectionListener.set(listener);
+        try {
+            return request.get();
+        } finally {
+            connectionListener.remove();
+        }
+    }
+
+    // RestAssured 5.x drives requests through HttpClient 4's legacy AbstractHttpClient (its HTTPBuilder casts the
+    // factory's client to it), so a client from HttpClientBuilder fails at the first request. The deprecated
+    // classes are confined to this method and createRestAssuredConfig, named in full so no import warns.
+    @SuppressWarnings("deprecation")
+    private static HttpClient createHttpClient() {
+        logger.info("Creating HTTP connection pool (maxTotal={}, maxPerRoute={})", MAX_TOTAL, MAX_PER_ROUTE);
+        org.apache.http.impl.conn.PoolingClientConnectionManager connectionManager =
+                new org.apache.http.impl.conn.PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(MAX_TOTAL);
+        connectionManager.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+        startIdleConnectionEvictor(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(IDLE_EVICTION_SECONDS, TimeUnit.SECONDS);
+        });
+        org.apache.http.impl.client.DefaultHttpClient client = new org.apache.http.impl.client.DefaultHttpClient(connectionManager);
+        client.addResponseInterceptor(connectionCapture());
+        return client;
+    }
+
+    // The connection in the context is the pool's managed connection, whose abortConnection closes the socket and
+    // hands the slot back to the pool once the body is closed
+    private static HttpResponseInterceptor connectionCapture() {
+        return (response, context) -> {
+            Consumer<ConnectionReleaseTrigger> listener = connectionListener.get();
+            Object connection = context.getAttribute(HttpCoreContext.HTTP_CONNECTION);
+            if (listener != null && connection instanceof ConnectionReleaseTrigger) {
+                listener.accept((ConnectionReleaseTrigger) connection);
+            }
+        };
+    }
+
+    @SuppressWarnings("deprecation")
+    private static RestAssuredConfig createRestAssuredConfig() {
+        HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .setParam(org.apache.http.params.CoreConnectionPNames.CONNECTION_TIMEOUT, CONNECT_TIMEOUT_MILLIS)
+                .setParam(org.apache.http.params.CoreConnectionPNames.SO_TIMEOUT, READ_TIMEOUT_MILLIS)
+                .setParam(org.apache.http.client.params.ClientPNames.CONN_MANAGER_TIMEOUT, (long) CONNECT_TIMEOUT_MILLIS)
+                .httpClientFactory(() -> httpClient)
+                .reuseHttpClientInstance();
+
+        return RestAssuredConfig.config()
+                .httpClient(httpClientConfig)
+                .objectMapperConfig(new ObjectMapperConfig(ApiObjectMapper.getInstance()));
+    }
+
+    // Closes expired and idle sockets in the background so stale keep-alive connections are never leased
+    private static void startIdleConnectionEvictor(Runnable evictIdleConnections) {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1, IDLE_EVICTION_SECONDS / 2);
+        evictor.scheduleAtFixedRate(evictIdleConnections, period, period, TimeUnit.SECONDS);
+    }
+}
@@ -4,9 +4,14 @@ import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.api.cleanup.PetLedger;
 import org.example.api.enums.PetEndpoints;
+import org.example.api.hedging.HedgingPolicy;
 import org.example.api.models.request.*;
 import org.example.api.models.response.*;
+import org.example.api.retry.ResponsePredicates;
+import org.example.api.retry.RetryPolicy;
+import org.example.api.retry.RetryResult;
 import org.example.api.utils.QueryParamUtil;
 
 import java.io.File;
@@ -14,6 +19,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 
@@ -22,11 +28,25 @@ public class PetClient extends BaseApiClient {
 
     private static final Logger logger = LogManager.getLogger(PetClient.class);
 
+    public PetClient() {
+        super();
+    }
+
+    public PetClient(String baseUrl) {
+        super(baseUrl);
+    }
+
+    public PetClient(String baseUrl, HedgingPolicy hedgingPolicy) {
+        super(baseUrl, hedgingPolicy);
+    }
+
     // Creates a new pet
     public PetResponse createPet(PetRequest petRequest) {
         logger.info("Creating pet: {}", petRequest.getName());
         Response response = postRequest(petRequest, PetEndpoints.CREATE_PET.getPath());
-        return response.as(PetResponse.class);
+        PetResponse petResponse = response.as(PetResponse.class);
+        PetLedger.getInstance().recordCreated(petResponse.getId());
+        return petResponse;
     }
 
     // Updates an existing pet's information
@@ -46,6 +66,16 @@ public class PetClient extends BaseApiClient {
         return response.as(PetResponse[].class);
     }
 
+    // Streams pets with the given status, parsing them one at a time as the body arrives; close the stream
+    // (try-with-resources) to release the connection; closing it after a short-circuit stops the download
+    public Stream<PetResponse> streamPetsByStatus(String status) {
+        logger.info("Streaming pets by status: {}", status);
+        Map<String, Object> queryParams = new HashMap<>();
+        queryParams.put("status", status);
+
+        return getRequestAsJsonArrayStream(queryParams, PetEndpoints.FIND_BY_STATUS.getPath(), PetResponse.class);
+    }
+
     // Looks up a specific pet using its ID
     public PetResponse getPetById(Long petId) {
         logger.info("Getting pet ID: {}", petId);
@@ -60,15 +90,16 @@ public class PetClient extends BaseApiClient {
     public ApiResponse updatePetWithForm(Long petId, UpdatePetFormRequest updateRequest) {
         logger.info("Updating pet ID: {} with form data", petId);
 
-        String resolvedPath = PetEndpoints.UPDATE_PET_WITH_FORM.getPath()
-                .replace("{petId}", String.valueOf(petId));
+        Map<String, Object> pathParams = new HashMap<>();
+        pathParams.put("petId", petId);
 
         Response response = postFormRequest(
+                pathParams,
                 Arrays.asList(
                         new QueryParamUtil("name", updateRequest.getName()),
                         new QueryParamUtil("status", updateRequest.getStatus())
                 ),
-                resolvedPath
+                PetEndpoints.UPDATE_PET_WITH_FORM.getPath()
         );
         
         return response.as(ApiResponse.class);
@@ -77,9 +108,14 @@ public class PetClient extends BaseApiClient {
     // Updates a pet's information with retry capability if the first attempt fails
     public ApiResponse updatePetWithFormWithRetry(Long petId, UpdatePetFormRequest updateRequest, int maxRetries, long delayMs) {
         logger.info("Updating pet ID: {} with retry (max: {})", petId, maxRetries);
+        return updatePetWithFormWithRetry(petId, updateRequest,
+                RetryPolicy.fromLegacy(maxRetries, delayMs, ResponsePredicates.statusIs(200)));
+    }
 
-        String resolvedPath = PetEndpoints.UPDATE_PET_WITH_FORM.getPath()
-                .replace("{petId}", String.valueOf(petId));
+    // Updates a pet's information with form data, retrying as the given policy dictates
+    public ApiResponse updatePetWithFormWithRetry(Long petId, UpdatePetFormRequest updateRequest, RetryPolicy<Response> policy) {
+        final Map<String, Object> pathParams = new HashMap<>();
+        pathParams.put("petId", petId);
 
         final List<QueryParamUtil> formParams = Arrays.asList(
                 new QueryParamUtil("name", updateRequest.getName()),
@@ -87,10 +123,9 @@ public class PetClient extends BaseApiClient {
         );
         
         return retryOperation(
-                () -> postFormRequest(formParams, resolvedPath),
+                () -> postFormRequest(pathParams, formParams, PetEndpoints.UPDATE_PET_WITH_FORM.getPath()),
                 ApiResponse.class,
-                maxRetries,
-                delayMs
+                policy
         );
     }
 
@@ -103,15 +138,9 @@ public class PetClient extends BaseApiClient {
                 .contentType(ContentType.MULTIPART)
                 .pathParam("petId", petId)
                 .multiPart("file", imageFile)
-                .log().uri()
-                .log().headers()
-                .log().method()
-                .log().body()
                 .when()
                 .post(PetEndpoints.UPLOAD_IMAGE.getPath())
                 .then()
-                .log().status()
-                .log().body()
                 .extract()
                 .response();
 
@@ -125,22 +154,25 @@ public class PetClient extends BaseApiClient {
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", petId);
 
-        Response response = deleteRequest(pathParams, PetEndpoints.DELETE_PET.getPath());
+        Response response = delete(pathParams, petId);
         return response.as(ApiResponse.class);
     }
 
     // Attempts to delete a pet with retry capability if the first attempt fails
     public ApiResponse deletePetWithRetry(Long petId, int maxRetries, long delayMs) {
         logger.info("Deleting pet ID: {} with retry (max: {})", petId, maxRetries);
-        
+        return deletePetWithRetry(petId, RetryPolicy.fromLegacy(maxRetries, delayMs, ResponsePredicates.statusIs(200)));
+    }
+
+    // Deletes a pet, retrying as the given policy dictates
+    public ApiResponse deletePetWithRetry(Long petId, RetryPolicy<Response> policy) {
         final Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", petId);
         
         return retryOperation(
-                () -> deleteRequest(pathParams, PetEndpoints.DELETE_PET.getPath()),
+                () -> delete(pathParams, petId),
                 ApiResponse.class,
-                maxRetries,
-                delayMs
+                policy
         );
     }
 
@@ -151,36 +183,45 @@ public class PetClient extends BaseApiClient {
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", petId);
         
-        Response response = null;
-        int attempts = 0;
-        
         // Keep trying to delete until we get a non-200 response (pet not found)
-        while (attempts < maxRetries) {
-            response = deleteRequest(pathParams, PetEndpoints.DELETE_PET.getPath());
-            
-            if (response.getStatusCode() == 200) {
-                attempts++;
-                Thread.sleep(delayMs);
-            } else {
-                break;
-            }
+        RetryResult<Response> result = retryUntil(
+                () -> delete(pathParams, petId),
+                RetryPolicy.fromLegacy(maxRetries, delayMs, ResponsePredicates.statusIsNot(200))
+        );
+
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Interrupted while deleting pet ID: " + petId);
         }
-        
-        return response;
+        if (result.getLastResult() == null) {
+            throw new RuntimeException("Could not delete pet ID: " + petId, result.getLastError());
+        }
+        return result.getLastResult();
     }
 
     // Retrieves a pet by ID with retry capability if the first attempt fails
     public PetResponse getPetByIdWithRetry(Long petId, int maxRetries, long delayMs) {
         logger.info("Getting pet ID: {} with retry (max: {})", petId, maxRetries);
-        
+        return getPetByIdWithRetry(petId, RetryPolicy.fromLegacy(maxRetries, delayMs, ResponsePredicates.statusIs(200)));
+    }
+
+    // Retrieves a pet by ID, retrying as the given policy dictates
+    public PetResponse getPetByIdWithRetry(Long petId, RetryPolicy<Response> policy) {
         final Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", petId);
         
         return retryOperation(
                 () -> getRequestWithPath(pathParams, PetEndpoints.GET_PET_BY_ID.getPath()),
                 PetResponse.class,
-                maxRetries,
-                delayMs
+                policy
         );
     }
-} 
+
+    // A 200 or 404 means the pet is gone, so it no longer needs reclaiming by a later run
+    private Response delete(Map<String, Object> pathParams, Long petId) {
+        Response response = deleteRequest(pathParams, PetEndpoints.DELETE_PET.getPath());
+        if (response.getStatusCode() == 200 || response.getStatusCode() == 404) {
+            PetLedger.getInstance().recordDeleted(petId);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.api.data;
+
+import org.example.api.models.request.PetRequest;
+
+// A verified pet exclusively leased to one test by the PetFixturePool
+public class LeasedPet {
+    private final PetRequest request;
+    private volatile boolean deleted;
+
+    LeasedPet(PetRequest request) {
+        this.request = request;
+    }
+
+    public Long getId() {
+        return request.getId();
+    }
+
+    // The request the pet was created with; the pool restores the pet to this state after each lease
+    public PetRequest getRequest() {
+        return request;
+    }
+
+    // Tells the pool the test removed the pet, so it is replaced instead of restored
+    public void markDeleted() {
+        deleted = true;
+    }
+
+    boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.api.data;
+
+import org.example.api.client.AsyncPetClient;
+import org.example.utils.ConfigReader;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.util.concurrent.TimeUnit;
+
+// Injects LeasedPet parameters from a PetFixturePool shared by the whole test run
+public class PetFixtureExtension implements BeforeAllCallback, ParameterResolver, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PetFixtureExtension.class);
+
+    private static final int POOL_SIZE = ConfigReader.getIntProperty("petFixturePoolSize", 4);
+    private static final long LEASE_TIMEOUT_SECONDS = ConfigReader.getLongProperty("petFixtureLeaseTimeoutSeconds", 30);
+
+    // Starts provisioning once per run so pets are being verified while the first tests are scheduled
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        getPool(context);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == LeasedPet.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        LeasedPet pet = getPool(extensionContext).lease(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        extensionContext.getStore(NAMESPACE).put(LeasedPet.class, pet);
+        return pet;
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        LeasedPet pet = context.getStore(NAMESPACE).remove(LeasedPet.class, LeasedPet.class);
+        if (pet != null) {
+            getPool(context).release(pet);
+        }
+    }
+
+    // The root store closes the pool (deleting its pets) when the test run finishes
+    private static PetFixturePool getPool(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                PetFixturePool.class,
+                key -> new PetFixturePool(new AsyncPetClient(), POOL_SIZE).start(),
+                PetFixturePool.class);
+    }
+}
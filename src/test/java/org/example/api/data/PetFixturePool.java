@@ -0,0 +1,156 @@
+package org.example.api.data;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.cleanup.PetCleanupReaper;
+import org.example.api.client.AsyncHttpTransport;
+import org.example.api.client.AsyncPetClient;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.response.PetResponse;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Suite-scoped pool of pets that are created and verified up front, then leased exclusively to tests
+public class PetFixturePool implements ExtensionContext.Store.CloseableResource {
+    private static final Logger logger = LogManager.getLogger(PetFixturePool.class);
+
+    private static final int VERIFY_ATTEMPTS = 10;
+    private static final long VERIFY_DELAY_MS = 1000;
+
+    private final AsyncPetClient petClient;
+    private final int size;
+    private final BlockingQueue<LeasedPet> available = new LinkedBlockingQueue<>();
+    private final Set<Long> ownedPetIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger provisioningFailures = new AtomicInteger();
+    private volatile boolean closed;
+
+    public PetFixturePool(AsyncPetClient petClient, int size) {
+        this.petClient = petClient;
+        this.size = size;
+    }
+
+    // Starts creating every pet concurrently; leases can begin as soon as the first one is verified
+    public PetFixturePool start() {
+        logger.info("Provisioning {} pet fixtures", size);
+        for (int i = 0; i < size; i++) {
+            provision();
+        }
+        return this;
+    }
+
+    // Blocks until a verified pet is free and hands it to the caller exclusively
+    public LeasedPet lease(long timeout, TimeUnit unit) {
+        try {
+            LeasedPet pet = available.poll(timeout, unit);
+            if (pet == null) {
+                throw new IllegalStateException("No pet fixture became available within " + unit.toSeconds(timeout) + "s");
+            }
+            logger.info("Leased pet fixture ID: {}", pet.getId());
+            return pet;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pet fixture", e);
+        }
+    }
+
+    // Returns a pet after a test: deleted pets are replaced, the rest are restored to their original state in the background
+    public void release(LeasedPet pet) {
+        if (pet.isDeleted()) {
+            logger.info("Pet fixture ID: {} was deleted by the test, provisioning a replacement", pet.getId());
+            ownedPetIds.remove(pet.getId());
+            // Confirms the deletion in the background and settles the pet in the ledger
+            PetCleanupReaper.getInstance().schedule(pet.getId());
+            provision();
+            return;
+        }
+
+        logger.info("Restoring pet fixture ID: {}", pet.getId());
+        petClient.updatePet(pet.getRequest())
+                .thenCompose(ignored -> awaitConsistent(pet.getRequest(), 1))
+                .whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        offer(pet);
+                    } else {
+                        logger.warn("Could not restore pet fixture ID: {}, replacing it: {}", pet.getId(), error.getMessage());
+                        ownedPetIds.remove(pet.getId());
+                        PetCleanupReaper.getInstance().schedule(pet.getId());
+                        provision();
+                    }
+                });
+    }
+
+    // Hands every pet the pool still owns to the cleanup reaper
+    @Override
+    public void close() {
+        closed = true;
+        logger.info("Releasing {} pet fixtures for cleanup", ownedPetIds.size());
+        ownedPetIds.forEach(PetCleanupReaper.getInstance()::schedule);
+    }
+
+    private void provision() {
+        if (closed) {
+            return;
+        }
+        PetRequest request = PetTestDataBuilder.buildCreatePetRequest();
+        ownedPetIds.add(request.getId());
+
+        petClient.createPet(request)
+                .thenCompose(created -> awaitConsistent(request, 1))
+                .whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        logger.info("Pet fixture ID: {} is ready", request.getId());
+                        offer(new LeasedPet(request));
+                    } else if (provisioningFailures.incrementAndGet() <= size) {
+                        logger.warn("Could not provision pet fixture ID: {}, retrying: {}", request.getId(), error.getMessage());
+                        provision();
+                    } else {
+                        logger.error("Giving up provisioning pet fixtures after {} failures", provisioningFailures.get());
+                    }
+                });
+    }
+
+    // Polls until the store consistently serves the pet as it was last written
+    private CompletableFuture<Void> awaitConsistent(PetRequest expected, int attempt) {
+        return petClient.getPetById(expected.getId())
+                .handle((response, error) -> error == null && matches(expected, response))
+                .thenCompose(consistent -> {
+                    if (consistent) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    if (attempt >= VERIFY_ATTEMPTS) {
+                        throw new IllegalStateException("Pet ID " + expected.getId() + " was not readable after " + attempt + " attempts");
+                    }
+                    CompletableFuture<Void> next = new CompletableFuture<>();
+                    AsyncHttpTransport.schedule(() -> awaitConsistent(expected, attempt + 1).whenComplete((value, failure) -> {
+                        if (failure == null) {
+                            next.complete(value);
+                        } else {
+                            next.completeExceptionally(failure);
+                        }
+                    }), VERIFY_DELAY_MS);
+                    return next;
+                });
+    }
+
+    private static boolean matches(PetRequest expected, PetResponse actual) {
+        return actual != null
+                && Objects.equals(expected.getId(), actual.getId())
+                && Objects.equals(expected.getName(), actual.getName())
+                && Objects.equals(expected.getStatus(), actual.getStatus());
+    }
+
+    private void offer(LeasedPet pet) {
+        if (closed) {
+            return;
+        }
+        available.offer(pet);
+    }
+}
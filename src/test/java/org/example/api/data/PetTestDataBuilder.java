@@ -5,14 +5,25 @@ import org.example.api.models.request.UpdatePetFormRequest;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 // Test data builder for Pet API tests
 public class PetTestDataBuilder {
 
+    // Time-seeded sequence so pets built concurrently (or in parallel forks) never share an ID
+    private static final AtomicLong PET_ID_SEQUENCE =
+            new AtomicLong(System.currentTimeMillis() * 1000 + ThreadLocalRandom.current().nextInt(1000));
+
+    // Returns a new unique pet ID
+    public static Long nextPetId() {
+        return PET_ID_SEQUENCE.incrementAndGet();
+    }
+
     // Builds a valid pet creation request
     public static PetRequest buildCreatePetRequest() {
         return PetRequest.builder()
-                .id(System.currentTimeMillis())
+                .id(nextPetId())
                 .name("Oguzhan' s Dog")
                 .status("healthy")
                 .category(new PetRequest.Category(1L, "Dogs"))
@@ -1,24 +1,47 @@
 package org.example.api.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
 // Enumeration of Pet API endpoints
 public enum PetEndpoints {
 
-    UPLOAD_IMAGE("/pet/{petId}/uploadImage"),
-    CREATE_PET("/pet"),
-    UPDATE_PET("/pet"),
-    FIND_BY_STATUS("/pet/findByStatus"),
-    FIND_BY_TAGS("/pet/findByTags"),
-    GET_PET_BY_ID("/pet/{petId}"),
-    UPDATE_PET_WITH_FORM("/pet/{petId}"),
-    DELETE_PET("/pet/{petId}");
+    UPLOAD_IMAGE("POST", "/pet/{petId}/uploadImage"),
+    CREATE_PET("POST", "/pet"),
+    UPDATE_PET("PUT", "/pet"),
+    FIND_BY_STATUS("GET", "/pet/findByStatus"),
+    FIND_BY_TAGS("GET", "/pet/findByTags"),
+    GET_PET_BY_ID("GET", "/pet/{petId}"),
+    UPDATE_PET_WITH_FORM("POST", "/pet/{petId}"),
+    DELETE_PET("DELETE", "/pet/{petId}");
+
+    private static final Map<String, PetEndpoints> BY_METHOD_AND_PATH = new HashMap<>();
+
+    static {
+        for (PetEndpoints endpoint : values()) {
+            BY_METHOD_AND_PATH.put(endpoint.method + " " + endpoint.path, endpoint);
+        }
+    }
 
+    private final String method;
     private final String path;
 
-    PetEndpoints(String path) {
+    PetEndpoints(String method, String path) {
+        this.method = method;
         this.path = path;
     }
 
+    public String getMethod() {
+        return method;
+    }
+
     public String getPath() {
         return path;
     }
-} 
\ No newline at end of file
+
+    // Endpoint for an HTTP method and path template, e.g. ("GET", "/pet/{petId}") -> GET_PET_BY_ID
+    public static Optional<PetEndpoints> resolve(String method, String pathTemplate) {
+        return Optional.ofNullable(BY_METHOD_AND_PATH.get(method + " " + pathTemplate));
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.api.hedging;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Sends idempotent requests and, if no acceptable answer arrives within the hedging delay or one is rejected,
+// races duplicates on other pooled connections and keeps the first acceptable response. A rejected response is
+// returned only once the hedges or the hedging budget are used up.
+public class HedgedRequestExecutor {
+    private static final Logger logger = LogManager.getLogger(HedgedRequestExecutor.class);
+    private static final int LATENCY_WINDOW = 200;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(daemonThreadFactory());
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong primaryRequests = new AtomicLong();
+    private final AtomicLong hedgedRequests = new AtomicLong();
+
+    // Responses of one call; once it is settled, every response but the returned one is drained so its connection
+    // goes back to the pool, including those of hedges that finish later
+    private static final class Attempts {
+        private final List<Response> received = new ArrayList<>();
+        private boolean settled;
+    }
+
+    public Response execute(String endpoint, Supplier<Response> request, HedgingPolicy policy) {
+        primaryRequests.incrementAndGet();
+        CompletionService<Response> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Response>> inFlight = new ArrayList<>();
+        Attempts attempts = new Attempts();
+        inFlight.add(completion.submit(() -> attempt(endpoint, request, attempts)));
+
+        int pending = 1;
+        int hedges = 0;
+        boolean hedgingAllowed = true;
+        Response unacceptable = null;
+        Response returned = null;
+        Throwable lastError = null;
+
+        try {
+            while (pending > 0) {
+                Future<Response> done;
+                if (hedgingAllowed && hedges < policy.getMaxHedges()) {
+                    done = completion.poll(hedgeDelayMillis(endpoint, policy), TimeUnit.MILLISECONDS);
+                    if (done == null) {
+                        if (sendHedge(endpoint, request, policy, completion, inFlight, attempts, "No acceptable response from {} yet, sending hedge {}", hedges + 1)) {
+                            hedges++;
+                            pending++;
+                        } else {
+                            hedgingAllowed = false;
+                        }
+                        continue;
+                    }
+                } else {
+                    done = completion.take();
+                }
+
+                pending--;
+                try {
+                    Response response = done.get();
+                    if (policy.getAcceptWhen().test(response)) {
+                        returned = response;
+                        return response;
+                    }
+                    // Only the latest rejected answer is kept, to be returned if nothing better arrives
+                    if (unacceptable != null) {
+                        discard(unacceptable);
+                    }
+                    unacceptable = response;
+                } catch (ExecutionException e) {
+                    lastError = e.getCause();
+                }
+
+                // A fast rejected or failed answer (e.g. a transient 404 or 500) is what hedging is for: try again at once
+                if (hedgingAllowed && hedges < policy.getMaxHedges()) {
+                    if (sendHedge(endpoint, request, policy, completion, inFlight, attempts, "Rejected response from {}, sending hedge {}", hedges + 1)) {
+                        hedges++;
+                        pending++;
+                    } else {
+                        hedgingAllowed = false;
+                    }
+                }
+            }
+            returned = unacceptable;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + endpoint, e);
+        } finally {
+            // Hedges not started yet are dropped; running ones finish on their own thread and are drained there
+            inFlight.forEach(future -> future.cancel(false));
+            settle(attempts, returned);
+        }
+
+        if (unacceptable != null) {
+            return unacceptable;
+        }
+        if (lastError instanceof RuntimeException) {
+            throw (RuntimeException) lastError;
+        }
+        throw new IllegalStateException("Request to " + endpoint + " failed", lastError);
+    }
+
+    public long getPrimaryRequests() {
+        return primaryRequests.get();
+    }
+
+    public long getHedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    private Response timed(String endpoint, Supplier<Response> request) {
+        long start = System.nanoTime();
+        Response response = request.get();
+        latencies.computeIfAbsent(endpoint, key -> new LatencyTracker(LATENCY_WINDOW))
+                .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return response;
+    }
+
+    // False, sending nothing, once the hedging budget is used up
+    private boolean sendHedge(String endpoint, Supplier<Response> request, HedgingPolicy policy, CompletionService<Response> completion,
+                              List<Future<Response>> inFlight, Attempts attempts, String reason, int hedge) {
+        if (!tryAcquireHedge(policy)) {
+            logger.debug("Hedging budget exhausted, waiting for {} without a hedge", endpoint);
+            return false;
+        }
+        logger.info(reason, endpoint, hedge);
+        inFlight.add(completion.submit(() -> attempt(endpoint, request, attempts)));
+        return true;
+    }
+
+    private Response attempt(String endpoint, Supplier<Response> request, Attempts attempts) {
+        Response response = timed(endpoint, request);
+        synchronized (attempts) {
+            if (!attempts.settled) {
+                attempts.received.add(response);
+                return response;
+            }
+        }
+        discard(response);
+        return response;
+    }
+
+    private static void settle(Attempts attempts, Response returned) {
+        List<Response> received;
+        synchronized (attempts) {
+            attempts.settled = true;
+            received = new ArrayList<>(attempts.received);
+        }
+        received.stream().filter(response -> response != returned).forEach(HedgedRequestExecutor::discard);
+    }
+
+    // Reads the body to its end, which hands the connection back to the pool
+    private static void discard(Response response) {
+        try {
+            response.asByteArray();
+        } catch (RuntimeException e) {
+            logger.debug("Could not drain a discarded response: {}", e.getMessage());
+        }
+    }
+
+    private long hedgeDelayMillis(String endpoint, HedgingPolicy policy) {
+        if (policy.getDelay() != null) {
+            return policy.getDelay().toMillis();
+        }
+        LatencyTracker tracker = latencies.get(endpoint);
+        long observed = tracker == null ? -1 : tracker.percentile(policy.getPercentile());
+        return observed >= 0 ? observed : policy.getFallbackDelay().toMillis();
+    }
+
+    // Admits a hedge only while hedges stay within maxExtraLoad of primary traffic (one hedge is always allowed up front)
+    private boolean tryAcquireHedge(HedgingPolicy policy) {
+        while (true) {
+            long hedged = hedgedRequests.get();
+            if (hedged >= Math.max(1, policy.getMaxExtraLoad() * primaryRequests.get())) {
+                return false;
+            }
+            if (hedgedRequests.compareAndSet(hedged, hedged + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "hedged-request-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.api.hedging;
+
+import io.restassured.response.Response;
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+// Controls when a duplicate of an idempotent request is fired and how much extra load hedging may add
+@Getter
+@Builder(toBuilder = true)
+public class HedgingPolicy {
+
+    @Builder.Default
+    private final boolean enabled = false;
+
+    // Fixed wait before hedging; when null the observed latency percentile of the endpoint is used
+    @Builder.Default
+    private final Duration delay = null;
+
+    @Builder.Default
+    private final double percentile = 90;
+
+    // Delay used until enough latency samples have been observed for the endpoint
+    @Builder.Default
+    private final Duration fallbackDelay = Duration.ofMillis(300);
+
+    // Extra requests allowed per call on top of the primary one
+    @Builder.Default
+    private final int maxHedges = 1;
+
+    // Cap on hedges as a fraction of primary requests, e.g. 0.2 allows at most 20% extra load
+    @Builder.Default
+    private final double maxExtraLoad = 0.2;
+
+    @Builder.Default
+    private final Predicate<Response> acceptWhen = response -> response.getStatusCode() == 200;
+
+    // Policy described by the apiHedging* keys in config.properties
+    public static HedgingPolicy fromConfig() {
+        long delayMillis = ConfigReader.getLongProperty("apiHedgingDelayMillis", 0);
+        return HedgingPolicy.builder()
+                .enabled(Boolean.parseBoolean(ConfigReader.getProperty("apiHedgingEnabled", "false")))
+                .delay(delayMillis > 0 ? Duration.ofMillis(delayMillis) : null)
+                .percentile(Double.parseDouble(ConfigReader.getProperty("apiHedgingPercentile", "90")))
+                .maxHedges(ConfigReader.getIntProperty("apiHedgingMaxHedges", 1))
+                .maxExtraLoad(Double.parseDouble(ConfigReader.getProperty("apiHedgingMaxExtraLoad", "0.2")))
+                .build();
+    }
+}
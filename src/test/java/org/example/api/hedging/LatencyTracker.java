@@ -0,0 +1,36 @@
+package org.example.api.hedging;
+
+import java.util.Arrays;
+
+// Sliding window of recent response times used to derive an adaptive hedging delay
+public class LatencyTracker {
+    private static final int MIN_SAMPLES = 10;
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new long[windowSize];
+    }
+
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    // Returns the given percentile of the window, or -1 while there are too few samples to trust it
+    public long percentile(double percentile) {
+        long[] snapshot;
+        synchronized (this) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            snapshot = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(percentile / 100.0 * snapshot.length) - 1;
+        return snapshot[Math.max(0, Math.min(index, snapshot.length - 1))];
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.api.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.api.enums.PetEndpoints;
+import org.example.utils.ConfigReader;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Shape of a load run: how fast requests arrive, for how long, and which endpoints they hit
+@Getter
+@Builder(toBuilder = true)
+public class LoadProfile {
+
+    // Requests started per second, regardless of how fast earlier ones complete
+    @Builder.Default
+    private final double targetRate = 10;
+
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(30);
+
+    // Exponential gaps between arrivals (Poisson process) instead of evenly spaced ones
+    @Builder.Default
+    private final boolean poissonArrivals = false;
+
+    // Relative weight of each endpoint in the mix
+    @Builder.Default
+    private final Map<PetEndpoints, Integer> mix = Collections.singletonMap(PetEndpoints.GET_PET_BY_ID, 1);
+
+    // Pets created before the clock starts, so reads, updates and deletes have targets from the first request
+    @Builder.Default
+    private final int seedPets = 20;
+
+    // Requests allowed in flight at once; arrivals beyond it are counted as dropped instead of piling up
+    @Builder.Default
+    private final int maxInFlight = 1000;
+
+    // Time allowed for in-flight requests to finish once the last one has been started
+    @Builder.Default
+    private final Duration drainTimeout = Duration.ofSeconds(30);
+
+    // Profile described by the load* keys in config.properties
+    public static LoadProfile fromConfig() {
+        return LoadProfile.builder()
+                .targetRate(Double.parseDouble(ConfigReader.getProperty("loadTargetRate", "10")))
+                .duration(Duration.ofSeconds(ConfigReader.getLongProperty("loadDurationSeconds", 30)))
+                .poissonArrivals("poisson".equalsIgnoreCase(ConfigReader.getProperty("loadArrivals", "constant")))
+                .mix(parseMix(ConfigReader.getProperty("loadMix", "GET_PET_BY_ID:1")))
+                .seedPets(ConfigReader.getIntProperty("loadSeedPets", 20))
+                .maxInFlight(ConfigReader.getIntProperty("loadMaxInFlight", 1000))
+                .drainTimeout(Duration.ofSeconds(ConfigReader.getLongProperty("loadDrainTimeoutSeconds", 30)))
+                .build();
+    }
+
+    // Parses "CREATE_PET:1,GET_PET_BY_ID:4" into endpoint weights
+    public static Map<PetEndpoints, Integer> parseMix(String spec) {
+        Map<PetEndpoints, Integer> mix = new EnumMap<>(PetEndpoints.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: " + entry);
+            }
+            PetEndpoints endpoint = PetEndpoints.valueOf(parts[0].trim());
+            if (!LoadScenario.supports(endpoint)) {
+                throw new IllegalArgumentException("Load scenarios do not support " + endpoint);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(endpoint, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Load mix has no endpoint with a positive weight: " + spec);
+        }
+        return mix;
+    }
+}
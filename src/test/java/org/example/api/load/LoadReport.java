@@ -0,0 +1,120 @@
+package org.example.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.api.enums.PetEndpoints;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latencies of a load run per endpoint, in microseconds. Response time is measured from the request's
+// intended start on the arrival schedule, so stalls in the client or server are not hidden (no coordinated
+// omission); service time is measured from the moment it was actually sent, for comparison.
+public class LoadReport {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadProfile profile;
+    private final Map<PetEndpoints, EndpointStats> stats = new EnumMap<>(PetEndpoints.class);
+    private volatile long elapsedNanos;
+
+    static final class EndpointStats {
+        private final Histogram responseTime = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+    }
+
+    LoadReport(LoadProfile profile) {
+        this.profile = profile;
+        for (PetEndpoints endpoint : PetEndpoints.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    void record(PetEndpoints endpoint, long responseNanos, long serviceNanos, boolean succeeded) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        endpointStats.responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(responseNanos));
+        endpointStats.serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+        if (!succeeded) {
+            endpointStats.failed.incrementAndGet();
+        }
+    }
+
+    // An arrival that found maxInFlight requests outstanding and was never sent
+    void dropped(PetEndpoints endpoint) {
+        stats.get(endpoint).dropped.incrementAndGet();
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getCompletedRequests() {
+        return stats.values().stream().mapToLong(endpointStats -> endpointStats.responseTime.getTotalCount()).sum();
+    }
+
+    // Failed and dropped requests
+    public long getFailedRequests() {
+        return stats.values().stream().mapToLong(endpointStats -> endpointStats.failed.get() + endpointStats.dropped.get()).sum();
+    }
+
+    public double getErrorRate() {
+        long attempted = getCompletedRequests() + stats.values().stream().mapToLong(endpointStats -> endpointStats.dropped.get()).sum();
+        return attempted == 0 ? 0 : (double) getFailedRequests() / attempted;
+    }
+
+    // Response time histogram of one endpoint, in microseconds
+    public Histogram getResponseTime(PetEndpoints endpoint) {
+        return stats.get(endpoint).responseTime.copy();
+    }
+
+    // Percentile table, in milliseconds
+    public String render() {
+        StringBuilder report = new StringBuilder();
+        double seconds = elapsedNanos / 1e9;
+        report.append(String.format(Locale.ROOT, "Target %.1f req/s (%s arrivals) for %d s; completed %d requests in %.1f s (%.1f req/s), %d failed or dropped (%.2f%%)%n",
+                profile.getTargetRate(), profile.isPoissonArrivals() ? "poisson" : "constant", profile.getDuration().getSeconds(),
+                getCompletedRequests(), seconds, seconds == 0 ? 0 : getCompletedRequests() / seconds,
+                getFailedRequests(), getErrorRate() * 100));
+        report.append(String.format(Locale.ROOT, "%-22s %8s %7s %8s %9s %9s %9s %9s %9s %9s %12s%n",
+                "Endpoint (ms)", "Count", "Failed", "Dropped", "Mean", "p50", "p90", "p99", "p99.9", "Max", "Service p99"));
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram responseTime = endpointStats.responseTime;
+            if (responseTime.getTotalCount() == 0 && endpointStats.dropped.get() == 0) {
+                return;
+            }
+            report.append(String.format(Locale.ROOT, "%-22s %8d %7d %8d %9.2f", endpoint, responseTime.getTotalCount(),
+                    endpointStats.failed.get(), endpointStats.dropped.get(), responseTime.getMean() / 1000));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(Locale.ROOT, " %9.2f", responseTime.getValueAtPercentile(percentile) / 1000.0));
+            }
+            report.append(String.format(Locale.ROOT, " %9.2f %12.2f%n", responseTime.getMaxValue() / 1000.0,
+                    endpointStats.serviceTime.getValueAtPercentile(99) / 1000.0));
+        });
+        return report.toString();
+    }
+
+    // Full percentile distributions in HdrHistogram's text format (plottable with its online plotter), in milliseconds
+    public String renderDistributions() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8.name())) {
+            stats.forEach((endpoint, endpointStats) -> {
+                if (endpointStats.responseTime.getTotalCount() > 0) {
+                    out.println("# " + endpoint + " response time");
+                    endpointStats.responseTime.outputPercentileDistribution(out, 1000.0);
+                    out.println();
+                }
+            });
+            return buffer.toString(StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
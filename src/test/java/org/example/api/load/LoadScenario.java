@@ -0,0 +1,135 @@
+package org.example.api.load;
+
+import org.example.api.client.AsyncPetClient;
+import org.example.api.data.PetTestDataBuilder;
+import org.example.api.enums.PetEndpoints;
+import org.example.api.models.response.ApiResponse;
+import org.example.api.models.response.PetResponse;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Turns a weighted endpoint mix into AsyncPetClient calls on PetTestDataBuilder data,
+// keeping track of the pets it created so reads, updates and deletes hit real ones
+public class LoadScenario {
+    private static final Set<PetEndpoints> SUPPORTED = EnumSet.of(
+            PetEndpoints.CREATE_PET, PetEndpoints.GET_PET_BY_ID, PetEndpoints.UPDATE_PET, PetEndpoints.UPDATE_PET_WITH_FORM,
+            PetEndpoints.FIND_BY_STATUS, PetEndpoints.UPLOAD_IMAGE, PetEndpoints.DELETE_PET);
+
+    private final AsyncPetClient petClient;
+    private final PetEndpoints[] endpoints;
+    private final int[] cumulativeWeights;
+    private final List<Long> livePets = new ArrayList<>();
+
+    public LoadScenario(AsyncPetClient petClient, Map<PetEndpoints, Integer> mix) {
+        this.petClient = petClient;
+        this.endpoints = mix.keySet().toArray(new PetEndpoints[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static boolean supports(PetEndpoints endpoint) {
+        return SUPPORTED.contains(endpoint);
+    }
+
+    // Draws the endpoint of the next request; operations on an existing pet turn into a create while there is none
+    public PetEndpoints nextEndpoint() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return needsPet(endpoints[i]) && livePetCount() == 0 ? PetEndpoints.CREATE_PET : endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Weights do not cover draw " + draw);
+    }
+
+    // Sends one request for the endpoint; completes with whether the store accepted it
+    public CompletableFuture<Boolean> execute(PetEndpoints endpoint) {
+        switch (endpoint) {
+            case CREATE_PET:
+                return petClient.createPet(PetTestDataBuilder.buildCreatePetRequest()).thenApply(pet -> {
+                    boolean created = isPet(pet);
+                    if (created) {
+                        addLivePet(pet.getId());
+                    }
+                    return created;
+                });
+            case GET_PET_BY_ID:
+                return petClient.getPetById(randomLivePet()).thenApply(LoadScenario::isPet);
+            case UPDATE_PET:
+                return petClient.updatePet(PetTestDataBuilder.buildUpdatePetRequest(randomLivePet())).thenApply(LoadScenario::isPet);
+            case UPDATE_PET_WITH_FORM:
+                return petClient.updatePetWithForm(randomLivePet(), PetTestDataBuilder.buildUpdatePetFormRequest())
+                        .thenApply(LoadScenario::isOk);
+            case FIND_BY_STATUS:
+                return petClient.findPetsByStatus("available").thenApply(pets -> pets != null);
+            case UPLOAD_IMAGE:
+                return petClient.uploadImage(randomLivePet()).thenApply(LoadScenario::isOk);
+            case DELETE_PET:
+                Long petId = takeLivePet();
+                return petClient.deletePet(petId).thenApply(response -> {
+                    boolean deleted = isOk(response);
+                    if (!deleted) {
+                        addLivePet(petId);
+                    }
+                    return deleted;
+                });
+            default:
+                throw new IllegalArgumentException("Load scenarios do not support " + endpoint);
+        }
+    }
+
+    // Pets still in the store, for cleanup once the run is over
+    public synchronized List<Long> drainLivePets() {
+        List<Long> pets = new ArrayList<>(livePets);
+        livePets.clear();
+        return pets;
+    }
+
+    private static boolean needsPet(PetEndpoints endpoint) {
+        return endpoint != PetEndpoints.CREATE_PET && endpoint != PetEndpoints.FIND_BY_STATUS;
+    }
+
+    // Error bodies deserialize into PetResponse with only code, type and message set
+    private static boolean isPet(PetResponse pet) {
+        return pet != null && pet.getId() != null && pet.getCode() == null;
+    }
+
+    private static boolean isOk(ApiResponse response) {
+        return response != null && Integer.valueOf(200).equals(response.getCode());
+    }
+
+    private synchronized int livePetCount() {
+        return livePets.size();
+    }
+
+    private synchronized void addLivePet(Long petId) {
+        livePets.add(petId);
+    }
+
+    // A pet created by an earlier request, or a fresh ID (and so a miss) if concurrent deletes emptied the pool
+    private synchronized Long randomLivePet() {
+        if (livePets.isEmpty()) {
+            return PetTestDataBuilder.nextPetId();
+        }
+        return livePets.get(ThreadLocalRandom.current().nextInt(livePets.size()));
+    }
+
+    private synchronized Long takeLivePet() {
+        if (livePets.isEmpty()) {
+            return PetTestDataBuilder.nextPetId();
+        }
+        int index = ThreadLocalRandom.current().nextInt(livePets.size());
+        Long last = livePets.remove(livePets.size() - 1);
+        return index == livePets.size() ? last : livePets.set(index, last);
+    }
+}
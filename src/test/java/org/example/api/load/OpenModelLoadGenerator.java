@@ -0,0 +1,109 @@
+package org.example.api.load;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.enums.PetEndpoints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load: requests start on a fixed arrival schedule whether or not earlier ones have completed,
+// the way independent users arrive at a real service. A closed loop would wait for each response and so
+// send less exactly when the service slows down, hiding the slowdown it should be measuring.
+public class OpenModelLoadGenerator {
+    private static final Logger logger = LogManager.getLogger(OpenModelLoadGenerator.class);
+
+    private final LoadProfile profile;
+    private final LoadScenario scenario;
+
+    public OpenModelLoadGenerator(LoadProfile profile, LoadScenario scenario) {
+        this.profile = profile;
+        this.scenario = scenario;
+    }
+
+    // Seeds pets, runs the schedule on the calling thread and waits for outstanding requests
+    public LoadReport run() {
+        seed();
+        LoadReport report = new LoadReport(profile);
+        Semaphore inFlight = new Semaphore(profile.getMaxInFlight());
+        logger.info("Starting load: {} req/s for {} s", profile.getTargetRate(), profile.getDuration().getSeconds());
+
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        double offsetNanos = 0;
+        long intendedStart = start;
+        while (intendedStart < end) {
+            waitUntil(intendedStart);
+            PetEndpoints endpoint = scenario.nextEndpoint();
+            if (inFlight.tryAcquire()) {
+                send(endpoint, intendedStart, report, inFlight);
+            } else {
+                report.dropped(endpoint);
+            }
+            offsetNanos += nextGapNanos();
+            intendedStart = start + (long) offsetNanos;
+        }
+
+        try {
+            if (!inFlight.tryAcquire(profile.getMaxInFlight(), profile.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("{} requests still in flight after {} s; they are missing from the report",
+                        profile.getMaxInFlight() - inFlight.availablePermits(), profile.getDrainTimeout().getSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        report.finish(System.nanoTime() - start);
+        logger.info("Load finished:\n{}", report.render());
+        return report;
+    }
+
+    // Latency runs from the scheduled start, so time spent waiting behind a stalled sender still counts
+    private void send(PetEndpoints endpoint, long intendedStart, LoadReport report, Semaphore inFlight) {
+        long sent = System.nanoTime();
+        CompletableFuture<Boolean> call;
+        try {
+            call = scenario.execute(endpoint);
+        } catch (RuntimeException e) {
+            call = new CompletableFuture<>();
+            call.completeExceptionally(e);
+        }
+        call.whenComplete((succeeded, error) -> {
+            long completed = System.nanoTime();
+            if (error != null) {
+                logger.debug("{} request failed: {}", endpoint, error.getMessage());
+            }
+            report.record(endpoint, completed - intendedStart, completed - sent, error == null && succeeded);
+            inFlight.release();
+        });
+    }
+
+    private void seed() {
+        List<CompletableFuture<Boolean>> creations = new ArrayList<>();
+        for (int i = 0; i < profile.getSeedPets(); i++) {
+            creations.add(scenario.execute(PetEndpoints.CREATE_PET));
+        }
+        CompletableFuture.allOf(creations.toArray(new CompletableFuture[0]))
+                .exceptionally(error -> null)
+                .join();
+    }
+
+    private double nextGapNanos() {
+        double meanGapNanos = 1e9 / profile.getTargetRate();
+        if (!profile.isPoissonArrivals()) {
+            return meanGapNanos;
+        }
+        return -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
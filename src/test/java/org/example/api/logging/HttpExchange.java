@@ -0,0 +1,141 @@
+package org.example.api.logging;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.MultiPartSpecification;
+
+import java.util.List;
+import java.util.Map;
+
+// One request/response pair as captured by the filter. Headers and bodies are copied, bodies already truncated, when
+// the exchange is recorded, so the buffer holds no Response and its size is known; the report text is only put
+// together by render()
+public class HttpExchange {
+    private final long startedAtMillis;
+    private final long durationMillis;
+    private final String method;
+    private final String uri;
+    private final String requestHeaders;
+    private final String formParams;
+    private final String multiParts;
+    private final String requestBody;
+    private final int requestBodyTruncatedChars;
+    private final String statusLine;
+    private final String responseHeaders;
+    private final String responseBody;
+    private final int responseBodyTruncatedChars;
+    private final String error;
+
+    HttpExchange(long startedAtMillis, long durationMillis, String method, String uri, Headers requestHeaders,
+                 Object requestBody, Map<String, String> formParams, List<MultiPartSpecification> multiParts,
+                 Response response, boolean responseBodyStreamed, Throwable error, int maxBodyChars) {
+        this.startedAtMillis = startedAtMillis;
+        this.durationMillis = durationMillis;
+        this.method = method;
+        this.uri = uri;
+        this.requestHeaders = headers(requestHeaders);
+        this.formParams = formParams == null || formParams.isEmpty() ? null : formParams.toString();
+        this.multiParts = multiParts(multiParts);
+        String request = requestBody == null ? null : String.valueOf(requestBody);
+        this.requestBody = truncate(request, maxBodyChars);
+        this.requestBodyTruncatedChars = truncatedChars(request, maxBodyChars);
+        this.error = error == null ? null : error.toString();
+        if (response == null) {
+            this.statusLine = null;
+            this.responseHeaders = null;
+            this.responseBody = null;
+            this.responseBodyTruncatedChars = 0;
+            return;
+        }
+        this.statusLine = response.getStatusLine();
+        this.responseHeaders = headers(response.getHeaders());
+        // A streamed body belongs to the caller; reading it here would download all of it up front
+        String body = responseBodyStreamed ? "<streamed body not recorded>" : responseBody(response);
+        this.responseBody = truncate(body, maxBodyChars);
+        this.responseBodyTruncatedChars = truncatedChars(body, maxBodyChars);
+    }
+
+    // Characters held by this exchange, which bound the buffer's memory
+    long size() {
+        return length(method) + length(uri) + length(requestHeaders) + length(formParams) + length(multiParts)
+                + length(requestBody) + length(statusLine) + length(responseHeaders) + length(responseBody) + length(error);
+    }
+
+    public void render(StringBuilder out) {
+        out.append(method).append(' ').append(uri)
+                .append("  (").append(durationMillis).append(" ms, started at ").append(startedAtMillis).append(")\n");
+        out.append(requestHeaders);
+        if (formParams != null) {
+            out.append("Form params: ").append(formParams).append('\n');
+        }
+        out.append(multiParts);
+        appendBody(out, requestBody, requestBodyTruncatedChars);
+
+        out.append('\n');
+        if (error != null) {
+            out.append("<no response: ").append(error).append(">\n");
+            return;
+        }
+        out.append(statusLine).append('\n');
+        out.append(responseHeaders);
+        appendBody(out, responseBody, responseBodyTruncatedChars);
+    }
+
+    private static String responseBody(Response response) {
+        try {
+            return response.asString();
+        } catch (RuntimeException e) {
+            return "<body not available: " + e.getMessage() + ">";
+        }
+    }
+
+    private static String headers(Headers headers) {
+        if (headers == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        for (Header header : headers) {
+            out.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String multiParts(List<MultiPartSpecification> parts) {
+        if (parts == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        for (MultiPartSpecification part : parts) {
+            out.append("Multipart: ").append(part.getControlName()).append(" (").append(part.getMimeType()).append(")\n");
+        }
+        return out.toString();
+    }
+
+    // substring copies the characters, so the full body can be collected once the caller is done with it
+    private static String truncate(String body, int maxBodyChars) {
+        if (body == null || body.length() <= maxBodyChars) {
+            return body;
+        }
+        return body.substring(0, maxBodyChars);
+    }
+
+    private static int truncatedChars(String body, int maxBodyChars) {
+        return body == null ? 0 : Math.max(0, body.length() - maxBodyChars);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static void appendBody(StringBuilder out, String body, int truncatedChars) {
+        if (body == null || body.isEmpty()) {
+            return;
+        }
+        out.append('\n').append(body);
+        if (truncatedChars > 0) {
+            out.append("\n<truncated, ").append(truncatedChars).append(" more chars>");
+        }
+        out.append('\n');
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.api.logging;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Bounded per-test ring of HTTP exchanges: once it holds more than capacity exchanges or maxChars characters, the
+// oldest exchanges are dropped (the newest one is always kept)
+public class HttpExchangeBuffer {
+    private static final ThreadLocal<HttpExchangeBuffer> current = new ThreadLocal<>();
+
+    private final int capacity;
+    private final long maxChars;
+    private final int maxBodyChars;
+    private final Deque<HttpExchange> exchanges;
+    private long chars;
+    private long dropped;
+
+    public HttpExchangeBuffer(int capacity, long maxChars, int maxBodyChars) {
+        this.capacity = capacity;
+        this.maxChars = maxChars;
+        this.maxBodyChars = maxBodyChars;
+        this.exchanges = new ArrayDeque<>(capacity);
+    }
+
+    // Bodies are truncated to this many characters when an exchange is recorded
+    public int getMaxBodyChars() {
+        return maxBodyChars;
+    }
+
+    // Buffer of the test running on this thread, or null outside of a test
+    public static HttpExchangeBuffer current() {
+        return current.get();
+    }
+
+    static void bind(HttpExchangeBuffer buffer) {
+        current.set(buffer);
+    }
+
+    static void unbind() {
+        current.remove();
+    }
+
+    // Carries the caller's buffer over to whichever worker thread ends up running the request
+    public static <T> Supplier<T> propagate(Supplier<T> request) {
+        HttpExchangeBuffer buffer = current();
+        if (buffer == null) {
+            return request;
+        }
+        return () -> {
+            HttpExchangeBuffer previous = current();
+            bind(buffer);
+            try {
+                return request.get();
+            } finally {
+                if (previous == null) {
+                    unbind();
+                } else {
+                    bind(previous);
+                }
+            }
+        };
+    }
+
+    // Hedged requests may record from several threads at once
+    public synchronized void add(HttpExchange exchange) {
+        exchanges.addLast(exchange);
+        chars += exchange.size();
+        while (exchanges.size() > 1 && (exchanges.size() > capacity || chars > maxChars)) {
+            chars -= exchanges.pollFirst().size();
+            dropped++;
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return exchanges.isEmpty();
+    }
+
+    public String render() {
+        List<HttpExchange> snapshot;
+        long droppedCount;
+        synchronized (this) {
+            snapshot = new ArrayList<>(exchanges);
+            droppedCount = dropped;
+        }
+
+        StringBuilder out = new StringBuilder();
+        if (droppedCount > 0) {
+            out.append("<").append(droppedCount).append(" earlier exchanges dropped>\n\n");
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            out.append("===== Exchange ").append(i + 1).append(" of ").append(snapshot.size()).append(" =====\n");
+            snapshot.get(i).render(out);
+            out.append('\n');
+        }
+        return out.toString();
+    }
+}
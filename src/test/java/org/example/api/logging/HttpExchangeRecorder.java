@@ -0,0 +1,69 @@
+package org.example.api.logging;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// RestAssured filter that copies each exchange, bodies truncated, into the current test's buffer instead of printing
+// it; outside of a test nothing is recorded, and the report is only rendered for the tests that attach it
+public final class HttpExchangeRecorder implements Filter {
+    private static final HttpExchangeRecorder instance = new HttpExchangeRecorder();
+    private static final ThreadLocal<Boolean> streaming = new ThreadLocal<>();
+
+    private HttpExchangeRecorder() {
+    }
+
+    public static HttpExchangeRecorder getInstance() {
+        return instance;
+    }
+
+    // Runs a request whose body the caller reads as a stream, so the recorder leaves the body alone
+    public static <T> T streamed(Supplier<T> request) {
+        streaming.set(Boolean.TRUE);
+        try {
+            return request.get();
+        } finally {
+            streaming.remove();
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        HttpExchangeBuffer buffer = HttpExchangeBuffer.current();
+        if (buffer == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        long startedAtMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Response response = null;
+        Throwable error = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            buffer.add(new HttpExchange(
+                    startedAtMillis,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    requestSpec.getMethod(),
+                    requestSpec.getURI(),
+                    requestSpec.getHeaders(),
+                    requestSpec.getBody(),
+                    new LinkedHashMap<>(requestSpec.getFormParams()),
+                    requestSpec.getMultiPartParams(),
+                    response,
+                    streaming.get() != null,
+                    error,
+                    buffer.getMaxBodyChars()));
+        }
+    }
+}
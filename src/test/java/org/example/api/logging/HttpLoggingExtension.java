@@ -0,0 +1,61 @@
+package org.example.api.logging;
+
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.ConfigReader;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Records every API exchange of a test and attaches them to Allure only when the test fails,
+// or for a sampled share (httpLogSampleRate) of the tests that pass
+public class HttpLoggingExtension implements BeforeEachCallback, TestWatcher {
+    private static final Logger logger = LogManager.getLogger(HttpLoggingExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(HttpLoggingExtension.class);
+
+    private static final int BUFFER_SIZE = ConfigReader.getIntProperty("httpLogBufferSize", 50);
+    private static final long MAX_CHARS = ConfigReader.getLongProperty("httpLogBufferMaxChars", 1_000_000);
+    private static final int MAX_BODY_CHARS = ConfigReader.getIntProperty("httpLogMaxBodyChars", 20000);
+    private static final double SAMPLE_RATE = Double.parseDouble(ConfigReader.getProperty("httpLogSampleRate", "0.0"));
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        HttpExchangeBuffer buffer = new HttpExchangeBuffer(BUFFER_SIZE, MAX_CHARS, MAX_BODY_CHARS);
+        context.getStore(NAMESPACE).put(HttpExchangeBuffer.class, buffer);
+        HttpExchangeBuffer.bind(buffer);
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        finish(context).ifPresent(buffer -> attach("HTTP exchanges", buffer));
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        finish(context).ifPresent(buffer -> {
+            if (SAMPLE_RATE > 0 && ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+                attach("HTTP exchanges (sampled)", buffer);
+            }
+        });
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        finish(context);
+    }
+
+    private static Optional<HttpExchangeBuffer> finish(ExtensionContext context) {
+        HttpExchangeBuffer.unbind();
+        return Optional.ofNullable(context.getStore(NAMESPACE).remove(HttpExchangeBuffer.class, HttpExchangeBuffer.class))
+                .filter(buffer -> !buffer.isEmpty());
+    }
+
+    private static void attach(String name, HttpExchangeBuffer buffer) {
+        logger.info("Attaching recorded HTTP exchanges to the report");
+        Allure.addAttachment(name, "text/plain", buffer.render(), ".txt");
+    }
+}
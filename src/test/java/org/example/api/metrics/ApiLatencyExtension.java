@@ -0,0 +1,114 @@
+package org.example.api.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.utils.ApiObjectMapper;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Writes the per-endpoint latency summary of every API call made in the Maven run when a test JVM finishes, merged
+// with the JVMs that finished before it: target/api-latency.json, plus an entry per endpoint in the Environment
+// section of the Allure report
+public class ApiLatencyExtension implements BeforeAllCallback {
+    private static final Logger logger = LogManager.getLogger(ApiLatencyExtension.class);
+    private static final String ENVIRONMENT_PREFIX = "API latency ";
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ApiLatencyExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                ApiLatencyRecorder.class,
+                key -> (ExtensionContext.Store.CloseableResource) ApiLatencyExtension::publish,
+                ExtensionContext.Store.CloseableResource.class);
+    }
+
+    private static void publish() {
+        Map<String, EndpointHistograms> recorded = ApiLatencyRecorder.getInstance().drain();
+        if (recorded.isEmpty()) {
+            return;
+        }
+        logger.info("API latency per endpoint in this JVM:\n{}", render(summarize(recorded)));
+
+        Map<String, EndpointLatencySummary> summaries;
+        try {
+            summaries = summarize(ApiLatencyRunMerge.merge(recorded));
+        } catch (IOException e) {
+            logger.warn("Could not merge the API latency of the other test JVMs, reporting this one only: {}", e.getMessage());
+            summaries = summarize(recorded);
+        }
+
+        try {
+            byte[] json = ApiObjectMapper.getInstance().getObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsBytes(summaries);
+            File file = new File("target/api-latency.json");
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), json);
+            logger.info("API latency summary written to {}", file.getPath());
+        } catch (IOException e) {
+            logger.warn("Could not write the API latency summary: {}", e.getMessage());
+        }
+        addToAllureEnvironment(summaries);
+    }
+
+    private static Map<String, EndpointLatencySummary> summarize(Map<String, EndpointHistograms> histograms) {
+        Map<String, EndpointLatencySummary> summaries = new TreeMap<>();
+        histograms.forEach((endpoint, endpointHistograms) -> summaries.put(endpoint, endpointHistograms.summarize(endpoint)));
+        return summaries;
+    }
+
+    // Puts one entry per endpoint in the Allure report's Environment section, replacing those of the JVM that
+    // published before. Other writers may share the file, so it is updated under a file lock.
+    private static void addToAllureEnvironment(Map<String, EndpointLatencySummary> summaries) {
+        Path file = Paths.get(System.getProperty("allure.results.directory", "allure-results"), "environment.properties");
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+                while (existing.hasRemaining() && channel.read(existing) >= 0) {
+                    // keep reading until the whole file is in the buffer
+                }
+                Properties environment = new Properties();
+                environment.load(new ByteArrayInputStream(existing.array()));
+                environment.stringPropertyNames().stream()
+                        .filter(key -> key.startsWith(ENVIRONMENT_PREFIX))
+                        .forEach(environment::remove);
+                summaries.values().forEach(summary -> environment.setProperty(
+                        ENVIRONMENT_PREFIX + summary.getEndpoint(),
+                        String.format(Locale.ROOT, "n=%d p50=%.1f ms p90=%.1f ms p99=%.1f ms max=%.1f ms status=%s",
+                                summary.getCount(), summary.getP50Millis(), summary.getP90Millis(),
+                                summary.getP99Millis(), summary.getMaxMillis(), summary.getStatusCodes())));
+                ByteArrayOutputStream merged = new ByteArrayOutputStream();
+                environment.store(merged, null);
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(merged.toByteArray()), 0);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not add the API latency summary to the Allure environment: {}", e.getMessage());
+        }
+    }
+
+    private static String render(Map<String, EndpointLatencySummary> summaries) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-22s %7s %9s %9s %9s %9s  %s%n",
+                "Endpoint (ms)", "Count", "p50", "p90", "p99", "Max", "Status codes"));
+        summaries.values().forEach(summary -> table.append(String.format(Locale.ROOT, "%-22s %7d %9.1f %9.1f %9.1f %9.1f  %s%n",
+                summary.getEndpoint(), summary.getCount(), summary.getP50Millis(), summary.getP90Millis(),
+                summary.getP99Millis(), summary.getMaxMillis(), summary.getStatusCodes())));
+        return table.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.api.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// What one test JVM recorded, as left on disk for the run-wide merge: compressed, base64-encoded HdrHistograms
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiLatencyPart {
+    private String runId;
+    private Map<String, Endpoint> endpoints;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+        private String durationMicros;
+        private String requestBytes;
+        private String responseBytes;
+        private Map<String, Long> statusCodes;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.api.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.MultiPartSpecification;
+import org.HdrHistogram.SingleWriterRecorder;
+import org.example.api.enums.PetEndpoints;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// RestAssured filter that times every API call, keyed by its PetEndpoints template rather than the resolved URL.
+// Each thread records into its own single-writer histograms, so recording takes no locks; they are merged once, at the end.
+// Calls made inside a test are also handed to its TestLatencySamples for @LatencyBudget checks, except the JVM's
+// first call to each endpoint.
+public final class ApiLatencyRecorder implements Filter {
+    // Calls whose method and path template match no PetEndpoints entry
+    static final String UNMATCHED = "UNMATCHED";
+
+    private static final ApiLatencyRecorder instance = new ApiLatencyRecorder();
+
+    private final Queue<ThreadRecorders> allRecorders = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<String, ThreadRecorders>> threadRecorders = ThreadLocal.withInitial(HashMap::new);
+    private final Map<String, Map<String, LongAdder>> outcomes = new ConcurrentHashMap<>();
+    private final Set<PetEndpoints> warmedUp = ConcurrentHashMap.newKeySet();
+
+    // Histograms of one endpoint written by one thread: duration in microseconds, payload sizes in bytes
+    private static final class ThreadRecorders {
+        private final String endpoint;
+        private final SingleWriterRecorder duration = new SingleWriterRecorder(3);
+        private final SingleWriterRecorder requestBytes = new SingleWriterRecorder(2);
+        private final SingleWriterRecorder responseBytes = new SingleWriterRecorder(2);
+
+        private ThreadRecorders(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private ApiLatencyRecorder() {
+    }
+
+    public static ApiLatencyRecorder getInstance() {
+        return instance;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        Optional<PetEndpoints> petEndpoint = PetEndpoints.resolve(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        String endpoint = petEndpoint.map(Enum::name).orElse(UNMATCHED);
+        long requestBytes = requestBytes(requestSpec);
+
+        long start = System.nanoTime();
+        String outcome = "exception";
+        long responseBytes = -1;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            outcome = String.valueOf(response.getStatusCode());
+            responseBytes = responseBytes(response);
+            return response;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            long durationMicros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+            TestLatencySamples testSamples = TestLatencySamples.current();
+            // The JVM's first call to an endpoint pays for connection setup and class loading, not the server's latency
+            boolean coldStart = petEndpoint.isPresent() && warmedUp.add(petEndpoint.get());
+            if (testSamples != null && petEndpoint.isPresent() && !coldStart) {
+                testSamples.add(petEndpoint.get(), TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            }
+            ThreadRecorders recorders = threadRecorders.get().computeIfAbsent(endpoint, this::register);
+            recorders.duration.recordValue(durationMicros);
+            if (requestBytes >= 0) {
+                recorders.requestBytes.recordValue(requestBytes);
+            }
+            if (responseBytes >= 0) {
+                recorders.responseBytes.recordValue(responseBytes);
+            }
+            outcomes.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(outcome, key -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    // Merges every thread's histograms; each call returns what was recorded since the previous one
+    Map<String, EndpointHistograms> drain() {
+        Map<String, EndpointHistograms> merged = new TreeMap<>();
+        for (ThreadRecorders recorders : allRecorders) {
+            merged.computeIfAbsent(recorders.endpoint, key -> new EndpointHistograms()).add(
+                    recorders.duration.getIntervalHistogram(),
+                    recorders.requestBytes.getIntervalHistogram(),
+                    recorders.responseBytes.getIntervalHistogram());
+        }
+        merged.forEach((endpoint, histograms) -> outcomes.getOrDefault(endpoint, new HashMap<>())
+                .forEach((outcome, count) -> histograms.addStatusCode(outcome, count.sumThenReset())));
+        return merged;
+    }
+
+    private ThreadRecorders register(String endpoint) {
+        ThreadRecorders recorders = new ThreadRecorders(endpoint);
+        allRecorders.add(recorders);
+        return recorders;
+    }
+
+    // Size of what was actually sent; -1 when the body type does not reveal it
+    private static long requestBytes(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (!requestSpec.getMultiPartParams().isEmpty()) {
+            long total = 0;
+            for (MultiPartSpecification part : requestSpec.getMultiPartParams()) {
+                Object content = part.getContent();
+                if (content instanceof File) {
+                    total += ((File) content).length();
+                } else if (content instanceof byte[]) {
+                    total += ((byte[]) content).length;
+                } else if (content instanceof String) {
+                    total += ((String) content).getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+            return total;
+        }
+        if (!requestSpec.getFormParams().isEmpty()) {
+            return requestSpec.getFormParams().entrySet().stream()
+                    .mapToLong(param -> param.getKey().length() + String.valueOf(param.getValue()).length() + 2)
+                    .sum() - 1;
+        }
+        return body == null ? 0 : -1;
+    }
+
+    // Taken from Content-Length so the body is never buffered here (streamed responses stay streamed); -1 if absent
+    private static long responseBytes(Response response) {
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.api.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.utils.ApiObjectMapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+
+// Combines the API latency of every test JVM of a Maven run. Surefire starts a JVM per test class, so each one leaves
+// its histograms in target/api-latency-parts and merges all parts of the run so far; the last JVM to finish
+// therefore sees the whole run. Parts left by earlier runs (another apiLatencyRunId) are deleted.
+final class ApiLatencyRunMerge {
+    private static final Logger logger = LogManager.getLogger(ApiLatencyRunMerge.class);
+    private static final Path PARTS = Paths.get("target", "api-latency-parts");
+    // Set by surefire to the build timestamp; outside Maven every JVM is a run of its own
+    private static final String RUN_ID = System.getProperty("apiLatencyRunId", UUID.randomUUID().toString());
+
+    private ApiLatencyRunMerge() {
+    }
+
+    // Saves this JVM's histograms and returns those of every JVM of the run, this one included
+    static Map<String, EndpointHistograms> merge(Map<String, EndpointHistograms> recorded) throws IOException {
+        ObjectMapper mapper = ApiObjectMapper.getInstance().getObjectMapper();
+        Files.createDirectories(PARTS);
+        try (FileChannel channel = FileChannel.open(PARTS.resolve("merge.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Path own = PARTS.resolve(ManagementFactory.getRuntimeMXBean().getName().split("@")[0] + "-" + UUID.randomUUID() + ".json");
+            mapper.writeValue(own.toFile(), ApiLatencyPart.builder()
+                    .runId(RUN_ID)
+                    .endpoints(recorded.entrySet().stream()
+                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().encode(), (a, b) -> a, TreeMap::new)))
+                    .build());
+
+            Map<String, EndpointHistograms> run = new TreeMap<>();
+            try (DirectoryStream<Path> parts = Files.newDirectoryStream(PARTS, "*.json")) {
+                for (Path part : parts) {
+                    ApiLatencyPart content = mapper.readValue(part.toFile(), ApiLatencyPart.class);
+                    if (!RUN_ID.equals(content.getRunId())) {
+                        Files.delete(part);
+                        continue;
+                    }
+                    for (Map.Entry<String, ApiLatencyPart.Endpoint> endpoint : content.getEndpoints().entrySet()) {
+                        run.computeIfAbsent(endpoint.getKey(), key -> new EndpointHistograms())
+                                .add(EndpointHistograms.decode(endpoint.getValue()));
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Unreadable latency histogram in " + PARTS, e);
+            }
+            logger.debug("Merged API latency of run {} from {}", RUN_ID, PARTS);
+            return run;
+        }
+    }
+}
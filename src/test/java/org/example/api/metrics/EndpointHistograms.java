@@ -0,0 +1,66 @@
+package org.example.api.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+// Everything recorded for one endpoint: durations in microseconds, payload sizes in bytes and calls per status code.
+// Histograms add up exactly, so summaries of several threads or test JVMs are computed from their merged histograms.
+final class EndpointHistograms {
+    private final Histogram durationMicros = new Histogram(3);
+    private final Histogram requestBytes = new Histogram(2);
+    private final Histogram responseBytes = new Histogram(2);
+    private final Map<String, Long> statusCodes = new TreeMap<>();
+
+    void add(Histogram duration, Histogram request, Histogram response) {
+        durationMicros.add(duration);
+        requestBytes.add(request);
+        responseBytes.add(response);
+    }
+
+    void addStatusCode(String outcome, long count) {
+        if (count > 0) {
+            statusCodes.merge(outcome, count, Long::sum);
+        }
+    }
+
+    void add(EndpointHistograms other) {
+        add(other.durationMicros, other.requestBytes, other.responseBytes);
+        other.statusCodes.forEach(this::addStatusCode);
+    }
+
+    EndpointLatencySummary summarize(String endpoint) {
+        return EndpointLatencySummary.of(endpoint, durationMicros, requestBytes, responseBytes, statusCodes);
+    }
+
+    ApiLatencyPart.Endpoint encode() {
+        return ApiLatencyPart.Endpoint.builder()
+                .durationMicros(encode(durationMicros))
+                .requestBytes(encode(requestBytes))
+                .responseBytes(encode(responseBytes))
+                .statusCodes(new TreeMap<>(statusCodes))
+                .build();
+    }
+
+    static EndpointHistograms decode(ApiLatencyPart.Endpoint encoded) throws DataFormatException {
+        EndpointHistograms histograms = new EndpointHistograms();
+        histograms.add(decode(encoded.getDurationMicros()), decode(encoded.getRequestBytes()), decode(encoded.getResponseBytes()));
+        encoded.getStatusCodes().forEach(histograms::addStatusCode);
+        return histograms;
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram decode(String encoded) throws DataFormatException {
+        return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+    }
+}
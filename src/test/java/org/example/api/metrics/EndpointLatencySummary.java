@@ -0,0 +1,61 @@
+package org.example.api.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.example.api.enums.PetEndpoints;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointLatencySummary {
+    private String endpoint;
+    private String method;
+    private String path;
+    private long count;
+    private double meanMillis;
+    private double p50Millis;
+    private double p90Millis;
+    private double p99Millis;
+    private double maxMillis;
+    // Response status code (or "exception") -> number of calls
+    private Map<String, Long> statusCodes;
+    private long meanRequestBytes;
+    private long maxRequestBytes;
+    private long meanResponseBytes;
+    private long maxResponseBytes;
+
+    // Builds the summary from a duration histogram in microseconds and payload size histograms in bytes
+    static EndpointLatencySummary of(String endpoint, Histogram durationMicros, Histogram requestBytes, Histogram responseBytes,
+                                     Map<String, Long> statusCodes) {
+        Optional<PetEndpoints> petEndpoint = ApiLatencyRecorder.UNMATCHED.equals(endpoint)
+                ? Optional.empty()
+                : Optional.of(PetEndpoints.valueOf(endpoint));
+        return EndpointLatencySummary.builder()
+                .endpoint(endpoint)
+                .method(petEndpoint.map(PetEndpoints::getMethod).orElse(null))
+                .path(petEndpoint.map(PetEndpoints::getPath).orElse(null))
+                .count(durationMicros.getTotalCount())
+                .meanMillis(millis(durationMicros.getMean()))
+                .p50Millis(millis(durationMicros.getValueAtPercentile(50)))
+                .p90Millis(millis(durationMicros.getValueAtPercentile(90)))
+                .p99Millis(millis(durationMicros.getValueAtPercentile(99)))
+                .maxMillis(millis(durationMicros.getMaxValue()))
+                .statusCodes(statusCodes)
+                .meanRequestBytes(Math.round(requestBytes.getMean()))
+                .maxRequestBytes(requestBytes.getMaxValue())
+                .meanResponseBytes(Math.round(responseBytes.getMean()))
+                .maxResponseBytes(responseBytes.getMaxValue())
+                .build();
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
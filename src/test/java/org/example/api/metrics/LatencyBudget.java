@@ -0,0 +1,35 @@
+package org.example.api.metrics;
+
+import org.example.api.enums.PetEndpoints;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Fails the test (or only warns) when the 95th percentile of its calls to the endpoint exceeds p95Millis.
+// On a class it applies to every test; a method-level budget for the same endpoint takes precedence.
+// With fewer than minSamples calls (latencyBudgetMinSamples when negative) an exceeded budget only warns.
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(LatencyBudget.List.class)
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+
+    PetEndpoints endpoint();
+
+    long p95Millis();
+
+    boolean warnOnly() default false;
+
+    int minSamples() default -1;
+
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @ExtendWith(LatencyBudgetExtension.class)
+    @interface List {
+        LatencyBudget[] value();
+    }
+}
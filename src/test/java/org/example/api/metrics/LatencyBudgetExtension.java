@@ -0,0 +1,88 @@
+package org.example.api.metrics;
+
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.enums.PetEndpoints;
+import org.example.utils.ConfigReader;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Collects the duration of every call a test makes and checks them against its @LatencyBudget annotations
+// once the test body is done; set latencyBudgetsEnforced=false to report violations as warnings only
+public class LatencyBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LogManager.getLogger(LatencyBudgetExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LatencyBudgetExtension.class);
+
+    private static final boolean ENFORCED = Boolean.parseBoolean(ConfigReader.getProperty("latencyBudgetsEnforced", "true"));
+    private static final int MIN_SAMPLES = ConfigReader.getIntProperty("latencyBudgetMinSamples", 5);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        TestLatencySamples samples = new TestLatencySamples();
+        context.getStore(NAMESPACE).put(TestLatencySamples.class, samples);
+        TestLatencySamples.bind(samples);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        TestLatencySamples.unbind();
+        TestLatencySamples samples = context.getStore(NAMESPACE).remove(TestLatencySamples.class, TestLatencySamples.class);
+        if (samples == null) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        budgets(context).forEach((endpoint, budget) -> {
+            List<Long> durations = samples.get(endpoint);
+            if (durations.isEmpty()) {
+                logger.debug("No calls to {} to check against its latency budget", endpoint);
+                return;
+            }
+            long p95 = samples.percentile(endpoint, 95);
+            if (p95 <= budget.p95Millis()) {
+                logger.debug("{} p95 {} ms is within its {} ms budget", endpoint, p95, budget.p95Millis());
+                return;
+            }
+            String message = String.format("%s p95 %d ms exceeds its %d ms budget (%d calls: %s ms)",
+                    endpoint, p95, budget.p95Millis(), durations.size(), durations);
+            int minSamples = budget.minSamples() < 0 ? MIN_SAMPLES : budget.minSamples();
+            if (durations.size() < minSamples) {
+                warnings.add(message + String.format(", too few calls to enforce (at least %d)", minSamples));
+            } else if (budget.warnOnly() || !ENFORCED) {
+                warnings.add(message);
+            } else {
+                violations.add(message);
+            }
+        });
+
+        warnings.forEach(warning -> logger.warn("Latency budget: {}", warning));
+        if (!warnings.isEmpty() || !violations.isEmpty()) {
+            List<String> report = new ArrayList<>(violations);
+            report.addAll(warnings);
+            Allure.addAttachment("Latency budget", "text/plain", String.join("\n", report), ".txt");
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionFailedError("Latency budget exceeded: " + String.join("; ", violations));
+        }
+    }
+
+    // Class-level budgets, overridden per endpoint by method-level ones
+    private static Map<PetEndpoints, LatencyBudget> budgets(ExtensionContext context) {
+        Map<PetEndpoints, LatencyBudget> budgets = new EnumMap<>(PetEndpoints.class);
+        context.getTestClass().ifPresent(testClass -> AnnotationSupport.findRepeatableAnnotations(testClass, LatencyBudget.class)
+                .forEach(budget -> budgets.put(budget.endpoint(), budget)));
+        context.getTestMethod().ifPresent(method -> AnnotationSupport.findRepeatableAnnotations(method, LatencyBudget.class)
+                .forEach(budget -> budgets.put(budget.endpoint(), budget)));
+        return budgets;
+    }
+}
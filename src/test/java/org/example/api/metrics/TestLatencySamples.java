@@ -0,0 +1,72 @@
+package org.example.api.metrics;
+
+import org.example.api.enums.PetEndpoints;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Durations of the HTTP calls made by the test running on this thread, per endpoint. Each sample is one
+// request on the wire, so backoff sleeps between retry attempts are never part of it.
+public class TestLatencySamples {
+    private static final ThreadLocal<TestLatencySamples> current = new ThreadLocal<>();
+
+    private final Map<PetEndpoints, List<Long>> samples = new EnumMap<>(PetEndpoints.class);
+
+    // Samples of the test running on this thread, or null outside of a test
+    public static TestLatencySamples current() {
+        return current.get();
+    }
+
+    static void bind(TestLatencySamples testSamples) {
+        current.set(testSamples);
+    }
+
+    static void unbind() {
+        current.remove();
+    }
+
+    // Carries the caller's samples over to whichever worker thread ends up running the request
+    public static <T> Supplier<T> propagate(Supplier<T> request) {
+        TestLatencySamples testSamples = current();
+        if (testSamples == null) {
+            return request;
+        }
+        return () -> {
+            TestLatencySamples previous = current();
+            bind(testSamples);
+            try {
+                return request.get();
+            } finally {
+                if (previous == null) {
+                    unbind();
+                } else {
+                    bind(previous);
+                }
+            }
+        };
+    }
+
+    // Hedged requests may record from several threads at once
+    public synchronized void add(PetEndpoints endpoint, long durationMillis) {
+        samples.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(durationMillis);
+    }
+
+    public synchronized List<Long> get(PetEndpoints endpoint) {
+        return new ArrayList<>(samples.getOrDefault(endpoint, Collections.emptyList()));
+    }
+
+    // Nearest-rank percentile of the endpoint's samples, or -1 if the test never called it
+    public long percentile(PetEndpoints endpoint, double percentile) {
+        List<Long> sorted = get(endpoint);
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+}
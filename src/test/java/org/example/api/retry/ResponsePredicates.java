@@ -0,0 +1,30 @@
+package org.example.api.retry;
+
+import io.restassured.response.Response;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+// Ready-made success/retry predicates for RestAssured responses and failures
+public final class ResponsePredicates {
+
+    private ResponsePredicates() {
+    }
+
+    public static Predicate<Response> statusIs(Integer... statusCodes) {
+        return response -> Arrays.asList(statusCodes).contains(response.getStatusCode());
+    }
+
+    public static Predicate<Response> statusIsNot(Integer... statusCodes) {
+        return statusIs(statusCodes).negate();
+    }
+
+    public static Predicate<Response> bodyContains(String text) {
+        return response -> response.asString().contains(text);
+    }
+
+    @SafeVarargs
+    public static Predicate<Throwable> exceptionOfType(Class<? extends Throwable>... types) {
+        return error -> Arrays.stream(types).anyMatch(type -> type.isInstance(error));
+    }
+}
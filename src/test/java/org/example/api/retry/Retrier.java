@@ -0,0 +1,73 @@
+package org.example.api.retry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Runs an operation until the policy's success predicate holds, backing off exponentially within a deadline
+public final class Retrier {
+    private static final Logger logger = LogManager.getLogger(Retrier.class);
+
+    private Retrier() {
+    }
+
+    public static <T> RetryResult<T> execute(Supplier<T> operation, RetryPolicy<T> policy) {
+        long start = System.nanoTime();
+        long deadline = start + policy.getDeadline().toNanos();
+        List<RetryResult.Attempt> attempts = new ArrayList<>();
+
+        T lastResult = null;
+        Throwable lastError = null;
+        long backoff = 0;
+
+        for (int attempt = 1; attempt <= policy.getMaxAttempts(); attempt++) {
+            long attemptStart = System.nanoTime();
+            boolean retryable;
+            String outcome;
+
+            try {
+                lastResult = operation.get();
+                lastError = null;
+                if (policy.getSuccessWhen().test(lastResult)) {
+                    attempts.add(new RetryResult.Attempt(attempt, millisSince(attemptStart), backoff, "success"));
+                    logger.info("Operation succeeded on attempt {} after {} ms", attempt, millisSince(start));
+                    return new RetryResult<>(true, lastResult, null, attempts, millisSince(start));
+                }
+                retryable = policy.getRetryWhen().test(lastResult);
+                outcome = "unsuccessful result";
+            } catch (RuntimeException error) {
+                lastError = error;
+                retryable = policy.getRetryOnException().test(error);
+                outcome = error.getClass().getSimpleName() + ": " + error.getMessage();
+            }
+            attempts.add(new RetryResult.Attempt(attempt, millisSince(attemptStart), backoff, outcome));
+            logger.warn("Attempt {} did not succeed: {}", attempt, outcome);
+
+            if (!retryable || attempt == policy.getMaxAttempts()) {
+                break;
+            }
+
+            backoff = policy.backoffMillis(attempt);
+            if (attempt >= policy.getMinAttempts() && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) > deadline) {
+                logger.warn("Retry deadline of {} ms reached after {} attempts", policy.getDeadline().toMillis(), attempt);
+                break;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return new RetryResult<>(false, lastResult, lastError, attempts, millisSince(start));
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
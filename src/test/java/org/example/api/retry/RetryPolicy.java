@@ -0,0 +1,69 @@
+package org.example.api.retry;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+// Describes when an operation counts as done, what is worth retrying and how long to back off between attempts
+@Getter
+@Builder(toBuilder = true)
+public class RetryPolicy<T> {
+
+    // Total time budget across all attempts and backoff sleeps
+    @Builder.Default
+    private final Duration deadline = Duration.ofSeconds(10);
+
+    @Builder.Default
+    private final int maxAttempts = Integer.MAX_VALUE;
+
+    // Attempts made even when the deadline has passed, so one slow cold-start call does not forfeit every retry
+    @Builder.Default
+    private final int minAttempts = 1;
+
+    @Builder.Default
+    private final Duration initialDelay = Duration.ofMillis(100);
+
+    @Builder.Default
+    private final Duration maxDelay = Duration.ofSeconds(2);
+
+    @Builder.Default
+    private final double multiplier = 2.0;
+
+    // Fraction of each backoff delay that is randomised (0 = fixed delays, 1 = full jitter)
+    @Builder.Default
+    private final double jitter = 0.5;
+
+    @Builder.Default
+    private final Predicate<T> successWhen = result -> true;
+
+    // Evaluated for unsuccessful results only; returning false stops retrying immediately
+    @Builder.Default
+    private final Predicate<T> retryWhen = result -> true;
+
+    @Builder.Default
+    private final Predicate<Throwable> retryOnException = error -> true;
+
+    // Translates the legacy (attempts, fixed delay) pair into a deadline with exponential backoff:
+    // the first re-poll happens after a fraction of the old delay, later ones back off past it
+    public static <T> RetryPolicy<T> fromLegacy(int maxAttempts, long delayMs, Predicate<T> successWhen) {
+        return RetryPolicy.<T>builder()
+                .deadline(Duration.ofMillis(maxAttempts * delayMs))
+                .maxAttempts(maxAttempts)
+                .minAttempts(Math.min(2, maxAttempts))
+                .initialDelay(Duration.ofMillis(Math.max(50, delayMs / 10)))
+                .maxDelay(Duration.ofMillis(delayMs * 2))
+                .successWhen(successWhen)
+                .build();
+    }
+
+    // Backoff before the given retry (1 = first retry), capped at maxDelay and jittered downwards
+    public long backoffMillis(int retry) {
+        double exponential = initialDelay.toMillis() * Math.pow(multiplier, retry - 1);
+        long capped = (long) Math.min(exponential, maxDelay.toMillis());
+        long jittered = (long) (capped * jitter * ThreadLocalRandom.current().nextDouble());
+        return capped - jittered;
+    }
+}
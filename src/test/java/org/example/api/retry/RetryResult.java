@@ -0,0 +1,41 @@
+package org.example.api.retry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of a retried operation together with the timing of every attempt
+@Getter
+@AllArgsConstructor
+public class RetryResult<T> {
+    private final boolean successful;
+    private final T lastResult;
+    private final Throwable lastError;
+    private final List<Attempt> attempts;
+    private final long elapsedMillis;
+
+    // Timing of a single attempt, excluding the backoff that preceded it
+    @Getter
+    @AllArgsConstructor
+    public static class Attempt {
+        private final int number;
+        private final long durationMillis;
+        private final long backoffMillis;
+        private final String outcome;
+    }
+
+    public List<Attempt> getAttempts() {
+        return Collections.unmodifiableList(attempts);
+    }
+
+    // Time spent in the operation itself, i.e. elapsed time minus deliberate backoff sleeps
+    public long getActiveMillis() {
+        return attempts.stream().mapToLong(Attempt::getDurationMillis).sum();
+    }
+
+    public long getBackoffMillis() {
+        return attempts.stream().mapToLong(Attempt::getBackoffMillis).sum();
+    }
+}
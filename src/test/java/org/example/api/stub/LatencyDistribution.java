@@ -0,0 +1,61 @@
+package org.example.api.stub;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Response delay of the stub server, parsed from a spec string:
+// "none", "fixed:<ms>", "uniform:<minMs>-<maxMs>" or "lognormal:<medianMs>:<sigma>" (a long right tail, like a real server)
+public abstract class LatencyDistribution {
+
+    public abstract long nextMillis();
+
+    public static LatencyDistribution parse(String spec) {
+        String value = spec == null ? "none" : spec.trim();
+        String[] parts = value.split(":");
+        try {
+            switch (parts[0]) {
+                case "":
+                case "none":
+                    return fixed(0);
+                case "fixed":
+                    return fixed(Long.parseLong(parts[1]));
+                case "uniform":
+                    String[] bounds = parts[1].split("-");
+                    return uniform(Long.parseLong(bounds[0]), Long.parseLong(bounds[1]));
+                case "lognormal":
+                    return logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + value);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid latency distribution: " + value, e);
+        }
+    }
+
+    public static LatencyDistribution fixed(long millis) {
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis() {
+                return millis;
+            }
+        };
+    }
+
+    public static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis() {
+                return ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+            }
+        };
+    }
+
+    public static LatencyDistribution logNormal(double medianMillis, double sigma) {
+        double mu = Math.log(medianMillis);
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis() {
+                return Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+        };
+    }
+}
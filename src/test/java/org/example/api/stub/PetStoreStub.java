@@ -0,0 +1,355 @@
+package org.example.api.stub;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.response.ApiResponse;
+import org.example.api.models.response.PetResponse;
+import org.example.api.utils.ApiObjectMapper;
+import org.example.utils.ConfigReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// In-process emulator of the Swagger Petstore pet API (every path in PetEndpoints) backed by an in-memory store.
+// Responses mirror the public server, including its quirks: PUT creates missing pets, uploads succeed for any ID,
+// and unset numeric fields come back as 0. Latency and 404/500 rates can be injected to reproduce its flakiness.
+public class PetStoreStub {
+    private static final Logger logger = LogManager.getLogger(PetStoreStub.class);
+
+    // petStoreBaseUrl value that starts a shared stub instead of calling a remote server
+    public static final String EMBEDDED = "embedded";
+    private static final String BASE_PATH = "/v2";
+    private static final Pattern PET_ID_PATH = Pattern.compile("/pet/([^/]+)(/uploadImage)?");
+    private static final Pattern UPLOADED_FILE_NAME = Pattern.compile("filename=\"([^\"]*)\"");
+
+    private static volatile PetStoreStub shared;
+
+    static {
+        // The JDK server writes headers and body separately; with Nagle on, each response waits for a delayed ACK (~40 ms).
+        // Read once when the first HttpServer is created in the JVM.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ObjectMapper objectMapper = ApiObjectMapper.getInstance().getObjectMapper().copy()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final Map<Long, PetResponse> pets = new ConcurrentHashMap<>();
+    private final AtomicLong generatedIds = new AtomicLong(9_223_372_036_854_000_000L);
+    private final LatencyDistribution latency;
+    private final double notFoundRate;
+    private final double errorRate;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public PetStoreStub(int port, LatencyDistribution latency, double notFoundRate, double errorRate) {
+        this.latency = latency;
+        this.notFoundRate = notFoundRate;
+        this.errorRate = errorRate;
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start pet store stub on port " + port, e);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "pet-store-stub-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH, this::handle);
+    }
+
+    // Stub configured from config.properties, holding sample pets the way the public server always does
+    public static PetStoreStub fromConfig() {
+        PetStoreStub stub = new PetStoreStub(
+                ConfigReader.getIntProperty("petStoreStubPort", 0),
+                LatencyDistribution.parse(ConfigReader.getProperty("petStoreStubLatency", "none")),
+                Double.parseDouble(ConfigReader.getProperty("petStoreStubNotFoundRate", "0.0")),
+                Double.parseDouble(ConfigReader.getProperty("petStoreStubErrorRate", "0.0")));
+        String[] statuses = {"available", "pending", "sold"};
+        int samplePets = ConfigReader.getIntProperty("petStoreStubSamplePets", 10);
+        for (int i = 1; i <= samplePets; i++) {
+            stub.save(PetResponse.builder()
+                    .id((long) i)
+                    .name("doggie")
+                    .status(statuses[(i - 1) % statuses.length])
+                    .build());
+        }
+        return stub;
+    }
+
+    // Returns the configured base URL, or the URL of the JVM-wide stub (started on first use) when it is "embedded"
+    public static String resolve(String baseUrl) {
+        if (!EMBEDDED.equals(baseUrl)) {
+            return baseUrl;
+        }
+        if (shared == null) {
+            synchronized (PetStoreStub.class) {
+                if (shared == null) {
+                    shared = fromConfig().start();
+                }
+            }
+        }
+        return shared.getBaseUrl();
+    }
+
+    public PetStoreStub start() {
+        server.start();
+        logger.info("Pet store stub listening on {}", getBaseUrl());
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    // Puts a pet straight into the store, bypassing latency and fault injection
+    public void seed(PetRequest pet) {
+        save(objectMapper.convertValue(pet, PetResponse.class));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            sleep(latency.nextMillis());
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                send(exchange, 500, error(500, "unknown", "something bad happened"));
+                return;
+            }
+            route(exchange);
+        } catch (RuntimeException e) {
+            logger.warn("Pet store stub failed on {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage());
+            send(exchange, 500, error(500, "unknown", e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length());
+
+        if (path.equals("/pet")) {
+            if (method.equals("POST") || method.equals("PUT")) {
+                savePet(exchange);
+                return;
+            }
+        } else if (path.equals("/pet/findByStatus") || path.equals("/pet/findByTags")) {
+            if (method.equals("GET")) {
+                findPets(exchange, path.endsWith("findByStatus"));
+                return;
+            }
+        } else {
+            Matcher matcher = PET_ID_PATH.matcher(path);
+            if (matcher.matches()) {
+                Long petId = parseId(matcher.group(1));
+                if (petId == null) {
+                    send(exchange, 404, error(404, "unknown", "java.lang.NumberFormatException: For input string: \"" + matcher.group(1) + "\""));
+                    return;
+                }
+                if (matcher.group(2) != null) {
+                    if (method.equals("POST")) {
+                        uploadImage(exchange);
+                        return;
+                    }
+                } else if (method.equals("GET")) {
+                    getPet(exchange, petId);
+                    return;
+                } else if (method.equals("POST")) {
+                    updatePetWithForm(exchange, petId);
+                    return;
+                } else if (method.equals("DELETE")) {
+                    deletePet(exchange, petId);
+                    return;
+                }
+            } else {
+                send(exchange, 404, error(404, "unknown", "not found"));
+                return;
+            }
+        }
+        send(exchange, 405, error(405, "unknown", "method not allowed"));
+    }
+
+    // POST and PUT both upsert, like the public server
+    private void savePet(HttpExchange exchange) throws IOException {
+        PetResponse pet = objectMapper.readValue(readBody(exchange), PetResponse.class);
+        send(exchange, 200, save(pet));
+    }
+
+    private void findPets(HttpExchange exchange, boolean byStatus) throws IOException {
+        Set<String> wanted = new HashSet<>(queryParams(exchange.getRequestURI().getRawQuery())
+                .getOrDefault(byStatus ? "status" : "tags", Collections.emptyList()));
+        List<PetResponse> matches = pets.values().stream()
+                .filter(pet -> byStatus
+                        ? wanted.contains(pet.getStatus())
+                        : pet.getTags() != null && pet.getTags().stream().anyMatch(tag -> wanted.contains(tag.getName())))
+                .collect(Collectors.toList());
+        send(exchange, 200, matches);
+    }
+
+    private void getPet(HttpExchange exchange, Long petId) throws IOException {
+        PetResponse pet = pets.get(petId);
+        if (pet == null || injectNotFound()) {
+            send(exchange, 404, error(1, "error", "Pet not found"));
+            return;
+        }
+        send(exchange, 200, pet);
+    }
+
+    private void updatePetWithForm(HttpExchange exchange, Long petId) throws IOException {
+        Map<String, List<String>> form = queryParams(new String(readBody(exchange), StandardCharsets.UTF_8));
+        PetResponse pet = pets.get(petId);
+        if (pet == null || injectNotFound()) {
+            send(exchange, 404, error(404, "unknown", "not found"));
+            return;
+        }
+        pets.computeIfPresent(petId, (id, current) -> {
+            PetResponse updated = objectMapper.convertValue(current, PetResponse.class);
+            if (form.containsKey("name")) {
+                updated.setName(form.get("name").get(0));
+            }
+            if (form.containsKey("status")) {
+                updated.setStatus(form.get("status").get(0));
+            }
+            return updated;
+        });
+        send(exchange, 200, error(200, "unknown", String.valueOf(petId)));
+    }
+
+    // The public server answers 404 without a body for unknown pets
+    private void deletePet(HttpExchange exchange, Long petId) throws IOException {
+        if (injectNotFound() || pets.remove(petId) == null) {
+            send(exchange, 404, null);
+            return;
+        }
+        send(exchange, 200, error(200, "unknown", String.valueOf(petId)));
+    }
+
+    private void uploadImage(HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange);
+        Matcher fileName = UPLOADED_FILE_NAME.matcher(new String(body, StandardCharsets.ISO_8859_1));
+        String name = fileName.find() ? fileName.group(1) : "file";
+        send(exchange, 200, error(200, "unknown",
+                "additionalMetadata: null\nFile uploaded to ./" + name + ", " + body.length + " bytes"));
+    }
+
+    // Unset numeric IDs are stored as 0 and missing lists as empty, as the public server's models do
+    private PetResponse save(PetResponse pet) {
+        if (pet.getId() == null || pet.getId() == 0) {
+            pet.setId(generatedIds.incrementAndGet());
+        }
+        if (pet.getCategory() != null && pet.getCategory().getId() == null) {
+            pet.getCategory().setId(0L);
+        }
+        if (pet.getPhotoUrls() == null) {
+            pet.setPhotoUrls(new ArrayList<>());
+        }
+        if (pet.getTags() == null) {
+            pet.setTags(new ArrayList<>());
+        }
+        pet.getTags().stream().filter(tag -> tag.getId() == null).forEach(tag -> tag.setId(0L));
+        pets.put(pet.getId(), pet);
+        return pet;
+    }
+
+    private boolean injectNotFound() {
+        return notFoundRate > 0 && ThreadLocalRandom.current().nextDouble() < notFoundRate;
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.getResponseBody().close();
+            return;
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static ApiResponse error(int code, String type, String message) {
+        return new ApiResponse(code, type, message);
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+        }
+        return body.toByteArray();
+    }
+
+    private static Map<String, List<String>> queryParams(String query) throws IOException {
+        Map<String, List<String>> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8.name());
+            String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8.name());
+            params.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return params;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
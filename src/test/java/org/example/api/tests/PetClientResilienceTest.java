@@ -0,0 +1,97 @@
+package org.example.api.tests;
+
+import org.example.api.client.AsyncHttpTransport;
+import org.example.api.client.AsyncPetClient;
+import org.example.api.client.PetClient;
+import org.example.api.data.PetTestDataBuilder;
+import org.example.api.hedging.HedgingPolicy;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.response.PetResponse;
+import org.example.api.stub.LatencyDistribution;
+import org.example.api.stub.PetStoreStub;
+import org.example.utils.TestLogExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Client behaviour under a misbehaving server, each test against its own in-process stub
+@Tag("api")
+@ExtendWith(TestLogExtension.class)
+public class PetClientResilienceTest {
+    private PetStoreStub stub;
+
+    @AfterEach
+    public void stopStub() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test
+    public void testCancellingAsyncCallReleasesConnection() throws InterruptedException {
+        stub = new PetStoreStub(0, LatencyDistribution.fixed(10_000), 0, 0).start();
+        URI stubUri = URI.create(stub.getBaseUrl());
+        IntSupplier leased = () -> AsyncHttpTransport.leasedConnections(stubUri.getHost(), stubUri.getPort());
+
+        CompletableFuture<PetResponse> call = new AsyncPetClient(stub.getBaseUrl()).getPetById(1L);
+        awaitLeased(leased, 1);
+        call.cancel(true);
+
+        awaitLeased(leased, 0);
+        assertThat("Cancelled call should not complete normally", call.isCancelled(), is(true));
+    }
+
+    @Test
+    public void testCancellingAsyncRetryStopsFurtherAttempts() throws InterruptedException {
+        stub = new PetStoreStub(0, LatencyDistribution.fixed(10_000), 0, 0).start();
+        URI stubUri = URI.create(stub.getBaseUrl());
+        IntSupplier leased = () -> AsyncHttpTransport.leasedConnections(stubUri.getHost(), stubUri.getPort());
+
+        CompletableFuture<PetResponse> call = new AsyncPetClient(stub.getBaseUrl()).getPetByIdWithRetry(1L, 5, 100);
+        awaitLeased(leased, 1);
+        call.cancel(true);
+
+        awaitLeased(leased, 0);
+        // Longer than the retry delay: a retry sent after the cancel would hold a connection to the slow stub again
+        Thread.sleep(500);
+        assertThat("No retry should be sent after cancelling", leased.getAsInt(), is(0));
+    }
+
+    @Test
+    public void testHedgeRescuesRejectedGet() {
+        stub = new PetStoreStub(0, LatencyDistribution.fixed(0), 0.5, 0).start();
+        PetRequest pet = PetTestDataBuilder.buildCreatePetRequest();
+        stub.seed(pet);
+        // The delay is far longer than any call here, so every hedge is sent because a 404 came back
+        HedgingPolicy policy = HedgingPolicy.builder()
+                .enabled(true)
+                .delay(Duration.ofSeconds(10))
+                .maxHedges(15)
+                .maxExtraLoad(15)
+                .build();
+        PetClient petClient = new PetClient(stub.getBaseUrl(), policy);
+
+        // Half of all answers are 404: without hedging, 20 successful calls in a row would take a 1 in a million run
+        for (int call = 1; call <= 20; call++) {
+            PetResponse response = petClient.getPetById(pet.getId());
+            assertThat("Call " + call + " should be rescued by a hedge", response.getId(), is(pet.getId()));
+        }
+    }
+
+    private static void awaitLeased(IntSupplier leased, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (leased.getAsInt() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat("Connections leased to the stub", leased.getAsInt(), is(expected));
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.api.tests;
+
+import io.qameta.allure.Allure;
+import org.example.api.cleanup.PetCleanupExtension;
+import org.example.api.cleanup.PetCleanupReaper;
+import org.example.api.client.AsyncPetClient;
+import org.example.api.load.LoadProfile;
+import org.example.api.load.LoadReport;
+import org.example.api.load.LoadScenario;
+import org.example.api.load.OpenModelLoadGenerator;
+import org.example.utils.ConfigReader;
+import org.example.utils.TestLogExtension;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Not part of the default run; start it with mvn test -Dtest.groups=load -Dtest=PetLoadTest
+@Tag("load")
+@ExtendWith({PetCleanupExtension.class, TestLogExtension.class})
+public class PetLoadTest {
+
+    @Test
+    public void testPetStoreUnderLoad() {
+        LoadProfile profile = LoadProfile.fromConfig();
+        LoadScenario scenario = new LoadScenario(new AsyncPetClient(), profile.getMix());
+
+        LoadReport report = new OpenModelLoadGenerator(profile, scenario).run();
+        scenario.drainLivePets().forEach(PetCleanupReaper.getInstance()::schedule);
+
+        Allure.addAttachment("Load report", "text/plain", report.render(), ".txt");
+        Allure.addAttachment("Latency distributions", "text/plain", report.renderDistributions(), ".hgrm");
+
+        double maxErrorRate = Double.parseDouble(ConfigReader.getProperty("loadMaxErrorRate", "0.05"));
+        assertThat("Requests should have completed", report.getCompletedRequests(), is(greaterThan(0L)));
+        assertThat("Error rate should stay within loadMaxErrorRate", report.getErrorRate(), is(lessThanOrEqualTo(maxErrorRate)));
+    }
+}
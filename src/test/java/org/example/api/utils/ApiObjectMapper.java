@@ -0,0 +1,87 @@
+package org.example.api.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import org.example.api.models.request.PetRequest;
+import org.example.api.models.response.ApiResponse;
+import org.example.api.models.response.NegativeResponse;
+import org.example.api.models.response.PetResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The one Jackson mapper behind every API client. Readers and writers are immutable and thread-safe,
+// so each model type gets one built once and reused, instead of resolving the mapper on every call.
+public final class ApiObjectMapper implements io.restassured.mapper.ObjectMapper {
+    private static final ApiObjectMapper instance = new ApiObjectMapper();
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private ApiObjectMapper() {
+        // Afterburner replaces reflective getter/setter calls with generated bytecode; it is registered
+        // explicitly since findAndRegisterModules() would scan the classpath for modules
+        objectMapper = new ObjectMapper()
+                .registerModule(new AfterburnerModule());
+
+        writer(PetRequest.class);
+        reader(PetResponse.class);
+        reader(PetResponse[].class);
+        reader(ApiResponse.class);
+        reader(NegativeResponse.class);
+    }
+
+    public static ApiObjectMapper getInstance() {
+        return instance;
+    }
+
+    public ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(type, key -> objectMapper.readerFor(objectMapper.constructType(key)));
+    }
+
+    public ObjectWriter writer(Type type) {
+        return writers.computeIfAbsent(type, key -> objectMapper.writerFor(objectMapper.constructType(key)));
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+        return writer(value.getClass()).writeValueAsBytes(value);
+    }
+
+    public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+        return reader(type).readValue(content);
+    }
+
+    // Used by RestAssured for body(Object)
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        Object value = context.getObjectToSerialize();
+        try {
+            return writer(value.getClass()).writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Used by RestAssured for response.as(...)
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        try {
+            return reader(context.getType()).readValue(context.getDataToDeserialize().asInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.api.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Lazily parses the elements of a top-level JSON array one at a time, so memory stays bounded by a single element
+public final class JsonArrayStream {
+    private JsonArrayStream() {
+    }
+
+    // The returned stream owns the input and closes it on close (try-with-resources), also after a short-circuit.
+    // abandonInput runs first when the array was not read to its end, e.g. to drop the connection instead of
+    // downloading the rest of the body; the input is then closed without reporting errors.
+    public static <T> Stream<T> of(InputStream input, Class<T> elementType, Runnable abandonInput) {
+        ApiObjectMapper mapper = ApiObjectMapper.getInstance();
+        ObjectReader reader = mapper.reader(elementType);
+        AtomicBoolean exhausted = new AtomicBoolean();
+        JsonParser parser;
+        try {
+            parser = mapper.getObjectMapper().getFactory().createParser(input);
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                abandonInput.run();
+                closeQuietly(parser);
+                throw new IllegalStateException("Expected a JSON array but the body starts with " + first);
+            }
+        } catch (IOException e) {
+            abandonInput.run();
+            closeQuietly(input);
+            throw new UncheckedIOException(e);
+        }
+
+        Spliterator<T> elements = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        exhausted.set(true);
+                        return false;
+                    }
+                    action.accept(reader.readValue(parser));
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(elements, false).onClose(() -> {
+            if (!exhausted.get()) {
+                abandonInput.run();
+                closeQuietly(parser);
+                return;
+            }
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void closeQuietly(Closeable input) {
+        try {
+            input.close();
+        } catch (IOException ignored) {
+            // the input was abandoned or failed to parse, so there is nothing left worth reporting
+        }
+    }
+}
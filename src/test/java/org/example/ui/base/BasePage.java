@@ -1,66 +1,265 @@
 package org.example.ui.base;
 
-import io.qameta.allure.Attachment;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.ui.helper.CachingFieldDecorator;
 import org.example.ui.helper.DriverManager;
-import org.example.utils.ConfigReader;
+import org.example.ui.helper.ElementCache;
+import org.example.ui.helper.FailureArtifacts;
+import org.example.ui.helper.PageWeightCollector;
+import org.example.ui.helper.WaitPolicy;
+import org.example.ui.helper.WaitTimings;
+import org.example.ui.models.PageWeight;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Wait;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import org.openqa.selenium.interactions.Actions;
+import org.opentest4j.AssertionFailedError;
 
-// Base page class for all page objects
+// Base page class for all page objects; every wait goes through waitUntil or awaitLocated so it is bounded by the
+// one configured timeout and timed
 public class BasePage {
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
     protected WebDriver driver;
-    protected WebDriverWait wait;
-    
-    private static final int DEFAULT_TIMEOUT_SECONDS = Integer.parseInt(ConfigReader.getProperty("explicitWait"));
+    private final ElementCache elementCache;
+
+    private static final WaitPolicy WAIT_POLICY = WaitPolicy.fromConfig();
+
+    // Resolves with the first matching element once it exists (and is visible, and contains the text, when asked),
+    // re-checking on every DOM mutation and every polling interval; resolves with null when the timeout passes first
+    private static final String AWAIT_LOCATED_SCRIPT =
+            "var using = arguments[0], value = arguments[1], mustBeVisible = arguments[2], text = arguments[3];\n" +
+            "var timeoutMillis = arguments[4], pollMillis = arguments[5], done = arguments[arguments.length - 1];\n" +
+            "function candidates() {\n" +
+            "  if (using === 'xpath') {\n" +
+            "    var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);\n" +
+            "    var nodes = [];\n" +
+            "    for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }\n" +
+            "    return nodes;\n" +
+            "  }\n" +
+            "  return Array.prototype.slice.call(document.querySelectorAll(value));\n" +
+            "}\n" +
+            "function visible(el) {\n" +
+            "  var style = window.getComputedStyle(el);\n" +
+            "  return style.visibility !== 'hidden' && style.display !== 'none' && el.getClientRects().length > 0;\n" +
+            "}\n" +
+            "function match() {\n" +
+            "  var nodes = candidates();\n" +
+            "  for (var i = 0; i < nodes.length; i++) {\n" +
+            "    var el = nodes[i];\n" +
+            "    if ((!mustBeVisible || visible(el)) && (text === null || (el.textContent || '').indexOf(text) >= 0)) { return el; }\n" +
+            "  }\n" +
+            "  return null;\n" +
+            "}\n" +
+            "var found = match();\n" +
+            "if (found) { done(found); return; }\n" +
+            "var finished = false;\n" +
+            "function finish(el) {\n" +
+            "  if (finished) { return; }\n" +
+            "  finished = true; observer.disconnect(); clearInterval(poll); clearTimeout(timer); done(el);\n" +
+            "}\n" +
+            "function check() { var el = match(); if (el) { finish(el); } }\n" +
+            "var observer = new MutationObserver(check);\n" +
+            "var poll = setInterval(check, pollMillis);\n" +
+            "var timer = setTimeout(function () { finish(null); }, timeoutMillis);\n" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});";
+
+    // Reads every field of every card in the page itself; "selector@attribute" reads an attribute instead of the text
+    private static final String EXTRACT_ALL_SCRIPT =
+            "var using = arguments[0], value = arguments[1], fields = arguments[2];\n" +
+            "var cards = [];\n" +
+            "if (using === 'xpath') {\n" +
+            "  var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);\n" +
+            "  for (var i = 0; i < result.snapshotLength; i++) { cards.push(result.snapshotItem(i)); }\n" +
+            "} else {\n" +
+            "  cards = Array.prototype.slice.call(document.querySelectorAll(value));\n" +
+            "}\n" +
+            "return cards.map(function (card) {\n" +
+            "  var item = {};\n" +
+            "  Object.keys(fields).forEach(function (name) {\n" +
+            "    var spec = fields[name], at = spec.lastIndexOf('@');\n" +
+            "    var selector = at > 0 ? spec.substring(0, at) : spec, attribute = at > 0 ? spec.substring(at + 1) : null;\n" +
+            "    var el = card.querySelector(selector);\n" +
+            "    item[name] = !el ? null : attribute ? el.getAttribute(attribute) : (el.innerText || el.textContent || '').trim();\n" +
+            "  });\n" +
+            "  return item;\n" +
+            "});";
+
+    private static final ObjectMapper EXTRACTION_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     public BasePage() {
         this.driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
-        PageFactory.initElements(driver, this);
+        this.elementCache = new ElementCache(driver);
+        PageFactory.initElements(new CachingFieldDecorator(driver, elementCache), this);
         logger.debug("Initialized page: {}", this.getClass().getSimpleName());
     }
 
+    // Polls the condition until it returns a non-null, non-false value, recording how long it took
+    protected <T> T waitUntil(String description, Function<WebDriver, T> condition) {
+        return waitUntil(description, condition, WAIT_POLICY.getTimeout());
+    }
+
+    private <T> T waitUntil(String description, Function<WebDriver, T> condition, Duration timeout) {
+        Wait<WebDriver> wait = new FluentWait<>(driver)
+                .withTimeout(timeout)
+                .pollingEvery(WAIT_POLICY.getPollingInterval())
+                .ignoring(NoSuchElementException.class)
+                .ignoring(StaleElementReferenceException.class);
+        long start = System.nanoTime();
+        boolean met = false;
+        try {
+            T result = wait.until(condition);
+            met = true;
+            return result;
+        } finally {
+            WaitTimings.record(description, System.nanoTime() - start, met);
+        }
+    }
+
+    // Waits for the first element matching the locator that is present, visible if asked, and contains the text if
+    // not null. CSS and XPath locators resolve from a MutationObserver as soon as the DOM changes, and are also
+    // re-checked every polling interval because visibility can change without a mutation (CSS transitions, layout
+    // settling); others are polled.
+    protected WebElement awaitLocated(By by, boolean mustBeVisible, String text) {
+        String description = (mustBeVisible ? "visible " : "present ") + by + (text == null ? "" : " with text '" + text + "'");
+        logger.debug("Waiting for {}", description);
+        if (!WAIT_POLICY.isMutationObserver() || !(by instanceof By.Remotable)) {
+            return waitUntil(description, webDriver -> firstMatch(webDriver.findElements(by), mustBeVisible, text));
+        }
+        By.Remotable.Parameters locator = ((By.Remotable) by).getRemoteParameters();
+        if (!"css selector".equals(locator.using()) && !"xpath".equals(locator.using())) {
+            return waitUntil(description, webDriver -> firstMatch(webDriver.findElements(by), mustBeVisible, text));
+        }
+
+        long start = System.nanoTime();
+        Object found;
+        try {
+            found = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_LOCATED_SCRIPT, locator.using(),
+                    String.valueOf(locator.value()), mustBeVisible, text, WAIT_POLICY.getTimeout().toMillis(),
+                    WAIT_POLICY.getPollingInterval().toMillis());
+        } catch (WebDriverException e) {
+            // A navigation during the wait discards the observer; polling takes over for the rest of the timeout
+            logger.debug("Mutation observer wait interrupted, polling instead: {}", e.getMessage());
+            Duration remaining = WAIT_POLICY.getTimeout().minusNanos(System.nanoTime() - start);
+            return waitUntil(description, webDriver -> firstMatch(webDriver.findElements(by), mustBeVisible, text),
+                    remaining.isNegative() ? Duration.ZERO : remaining);
+        }
+        WaitTimings.record(description, System.nanoTime() - start, found instanceof WebElement);
+        if (!(found instanceof WebElement)) {
+            throw new TimeoutException("Timed out after " + WAIT_POLICY.getTimeout().getSeconds() + "s waiting for " + description);
+        }
+        return (WebElement) found;
+    }
+
+    private static WebElement firstMatch(List<WebElement> elements, boolean mustBeVisible, String text) {
+        return elements.stream()
+                .filter(element -> !mustBeVisible || element.isDisplayed())
+                .filter(element -> text == null || element.getText().contains(text))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // First element for the locator, from the page's element cache when it was located before
+    protected WebElement find(By by) {
+        return elementCache.find(by);
+    }
+
+    // Runs the action on the cached element, relocating it once if it went stale in the meantime
+    protected <T> T withElement(By by, Function<WebElement, T> action) {
+        try {
+            return action.apply(elementCache.find(by));
+        } catch (StaleElementReferenceException e) {
+            elementCache.invalidate(by);
+            return action.apply(elementCache.find(by));
+        }
+    }
+
+    protected void navigateTo(String url) {
+        elementCache.clear();
+        driver.get(url);
+    }
+
+    protected void switchToWindow(String handle) {
+        elementCache.clear();
+        driver.switchTo().window(handle);
+    }
+
+    // Scrolls the first element for the locator into view; false when there is none yet
+    protected boolean scrollTo(By by) {
+        try {
+            return withElement(by, element -> {
+                scrollToElement(element);
+                return true;
+            });
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
     protected void waitForElementVisible(By by) {
-        logger.debug("Waiting for element: {}", by);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(by));
+        awaitLocated(by, true, null);
     }
 
     protected void waitForElementVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        waitUntil("visible " + element, ExpectedConditions.visibilityOf(element));
     }
 
     protected void waitForElementClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        waitUntil("clickable " + element, ExpectedConditions.elementToBeClickable(element));
     }
 
     protected void waitForElementsVisible(List<WebElement> elements) {
-        wait.until(ExpectedConditions.visibilityOfAllElements(elements));
+        waitUntil("all visible " + elements, ExpectedConditions.visibilityOfAllElements(elements));
     }
 
     protected void waitForElementPresent(By by) {
-        wait.until(ExpectedConditions.presenceOfElementLocated(by));
+        awaitLocated(by, false, null);
     }
 
     protected void waitForElementsPresent(By by) {
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(by));
+        awaitLocated(by, false, null);
     }
 
     protected void waitForTextPresent(WebElement element, String text) {
-        wait.until(ExpectedConditions.textToBePresentInElement(element, text));
+        waitUntil("text '" + text + "' in " + element, ExpectedConditions.textToBePresentInElement(element, text));
+    }
+
+    protected void waitForTextPresent(By by, String text) {
+        awaitLocated(by, false, text);
+    }
+
+    // Pulls the given fields of every card matching the locator into DTOs in one executeScript round trip, instead
+    // of a findElement and getText call per field and card. Fields map a DTO property to a CSS selector inside the
+    // card; "selector@attribute" reads that attribute instead of the text. Missing fields are null.
+    protected <T> List<T> extractAll(By cards, Map<String, String> fields, Class<T> type) {
+        By.Remotable.Parameters locator = ((By.Remotable) cards).getRemoteParameters();
+        if (!"css selector".equals(locator.using()) && !"xpath".equals(locator.using())) {
+            throw new IllegalArgumentException("Batch extraction needs a CSS or XPath locator, got " + cards);
+        }
+        Object result = ((JavascriptExecutor) driver).executeScript(EXTRACT_ALL_SCRIPT, locator.using(),
+                String.valueOf(locator.value()), fields);
+        List<T> items = new ArrayList<>();
+        for (Object item : (List<?>) result) {
+            items.add(EXTRACTION_MAPPER.convertValue(item, type));
+        }
+        return items;
     }
 
     protected void scrollToElement(WebElement element) {
         logger.debug("Scrolling to element");
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center'});", element);
-        wait.until(webDriver -> {
+        waitUntil("document ready", webDriver -> {
             String readyState = ((JavascriptExecutor) webDriver).executeScript("return document.readyState").toString();
             return readyState.equals("complete");
         });
@@ -70,8 +269,8 @@ public class BasePage {
         logger.debug("Hover and click action");
         Actions actions = new Actions(driver);
         scrollToElement(elementToHover);
-        
-        wait.until(driver -> {
+
+        waitUntil("hover " + elementToHover, driver -> {
             try {
                 actions.moveToElement(elementToHover).perform();
                 return true;
@@ -80,7 +279,7 @@ public class BasePage {
                 return false;
             }
         });
-        
+
         waitForElementVisible(elementToClick);
         waitForElementClickable(elementToClick);
         elementToClick.click();
@@ -108,9 +307,38 @@ public class BasePage {
         }
     }
 
-    @Attachment(value = "Screenshot on failure", type = "image/png")
-    public byte[] takeScreenshot(String name) {
+    // Fails the running step when it downloaded more than this page's @PageWeightBudget allows; a no-op without
+    // a budget or with network capture off. Call it on the page that was loaded, once it has loaded what it needs,
+    // so a step that navigates away is held to the destination page's budget rather than its own.
+    protected void checkPageWeight() {
+        PageWeightBudget budget = getClass().getAnnotation(PageWeightBudget.class);
+        PageWeight weight = PageWeightCollector.currentStep();
+        if (budget == null || weight == null) {
+            return;
+        }
+        List<String> violations = new ArrayList<>();
+        if (budget.maxRequests() > 0 && weight.getRequests() > budget.maxRequests()) {
+            violations.add(String.format("%d requests exceed the budget of %d", weight.getRequests(), budget.maxRequests()));
+        }
+        if (budget.maxTransferKb() > 0 && weight.getTransferBytes() > budget.maxTransferKb() * 1024) {
+            violations.add(String.format("%d KB transferred exceeds the budget of %d KB",
+                    weight.getTransferBytes() / 1024, budget.maxTransferKb()));
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = getClass().getSimpleName() + " page weight: " + String.join("; ", violations);
+        Allure.addAttachment("Page weight budget", "text/plain",
+                message + System.lineSeparator() + PageWeightCollector.render(weight), ".txt");
+        if (PageWeightCollector.isBudgetEnforced()) {
+            throw new AssertionFailedError(message);
+        }
+        logger.warn(message);
+    }
+
+    // Attaches a compressed screenshot, the DOM and the console log; encoding happens off the test thread
+    public void takeScreenshot(String name) {
         logger.info("Taking screenshot: {}", name);
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        FailureArtifacts.capture(driver, name);
     }
-} 
+}
@@ -4,53 +4,94 @@ import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.ui.helper.DriverManager;
+import org.example.ui.helper.ElementCache;
+import org.example.ui.helper.FailureArtifacts;
+import org.example.ui.helper.PagePerformanceCollector;
+import org.example.ui.helper.WaitTimings;
+import org.example.ui.models.PageMetrics;
+import org.example.utils.TestLogExtension;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
 import org.openqa.selenium.WebDriver;
 
-import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Optional;
 
 // Base test class for UI tests
-@ExtendWith(BaseTest.TestResultWatcher.class)
+@ExtendWith({BaseTest.TestResultWatcher.class, TestLogExtension.class})
 public class BaseTest {
     private static final Logger logger = LogManager.getLogger(BaseTest.class);
 
     @BeforeEach
-    public void setUp() {
+    public void setUp(TestInfo testInfo) {
         logger.info("Setting up test environment");
+        // A method-level @UseBrowser wins over the class-level one; without either the configured browser is used
+        Optional<UseBrowser> useBrowser = testInfo.getTestMethod()
+                .flatMap(method -> AnnotationSupport.findAnnotation(method, UseBrowser.class));
+        if (!useBrowser.isPresent()) {
+            useBrowser = testInfo.getTestClass().flatMap(testClass -> AnnotationSupport.findAnnotation(testClass, UseBrowser.class));
+        }
+        DriverManager.useBrowser(useBrowser.map(UseBrowser::value).orElse(null));
+        DriverManager.nameTest(testInfo.getTestClass().map(Class::getSimpleName).orElse("test") + "." + testInfo.getDisplayName());
         DriverManager.getDriver();
     }
 
     @AfterEach
     public void tearDown() {
         logger.info("Tearing down test environment");
+        String waitTimings = WaitTimings.drain();
+        if (waitTimings != null) {
+            Allure.addAttachment("Wait timings", "text/plain", waitTimings, ".txt");
+        }
+        String elementLookups = ElementCache.drainStats();
+        if (elementLookups != null) {
+            logger.info(elementLookups);
+        }
+        checkPagePerformance();
+    }
+
+    // Attaches the page timings of every step and reports, or with pagePerfThresholdsEnforced fails on, exceeded limits
+    private void checkPagePerformance() {
+        List<PageMetrics> pageMetrics = PagePerformanceCollector.drain();
+        if (pageMetrics.isEmpty()) {
+            return;
+        }
+        Allure.addAttachment("Page performance", "text/plain", PagePerformanceCollector.render(pageMetrics), ".txt");
+        List<String> violations = PagePerformanceCollector.violations(pageMetrics);
+        if (violations.isEmpty()) {
+            return;
+        }
+        Allure.addAttachment("Page performance limits exceeded", "text/plain", String.join("\n", violations), ".txt");
+        if (PagePerformanceCollector.isEnforced()) {
+            throw new AssertionFailedError("Page performance limits exceeded: " + String.join("; ", violations));
+        }
+        violations.forEach(violation -> logger.warn("Page performance: {}", violation));
     }
 
 
     public static class TestResultWatcher implements TestWatcher {
         private static final Logger watcherLogger = LogManager.getLogger(TestResultWatcher.class);
+        private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestResultWatcher.class);
 
         @Override
         public void testFailed(ExtensionContext context, Throwable cause) {
             watcherLogger.error("Test failed: {}", context.getDisplayName());
             
-            WebDriver driver = DriverManager.getDriver();
+            WebDriver driver = DriverManager.currentDriver();
             if (driver != null) {
                 try {
-                    watcherLogger.info("Capturing screenshot for failed test");
-                    Allure.addAttachment(
-                        "Screenshot on failure",
-                        "image/png",
-                        new ByteArrayInputStream(
-                            ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES)
-                        ),
-                        "png"
-                    );
+                    watcherLogger.info("Capturing failure artifacts for failed test");
+                    FailureArtifacts.capture(driver, "Failure");
+                    // Encoding finishes in the background; the run waits for it once every test is done
+                    context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(FailureArtifacts.class,
+                            key -> (ExtensionContext.Store.CloseableResource) FailureArtifacts::flush,
+                            ExtensionContext.Store.CloseableResource.class);
                 } finally {
                     DriverManager.quitDriver();
                 }
@@ -60,13 +101,13 @@ public class BaseTest {
         @Override
         public void testSuccessful(ExtensionContext context) {
             watcherLogger.info("Test succeeded: {}", context.getDisplayName());
-            DriverManager.quitDriver();
+            DriverManager.releaseDriver();
         }
 
         @Override
         public void testAborted(ExtensionContext context, Throwable cause) {
             watcherLogger.warn("Test aborted: {}", context.getDisplayName());
-            DriverManager.quitDriver();
+            DriverManager.releaseDriver();
         }
     }
 } 
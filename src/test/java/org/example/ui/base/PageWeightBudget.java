@@ -0,0 +1,17 @@
+package org.example.ui.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Limits on what a step that loads the annotated page may download, checked where the loaded page calls
+// checkPageWeight(); 0 leaves a limit off. Set pageWeightBudgetsEnforced=false to only report violations.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PageWeightBudget {
+
+    int maxRequests() default 0;
+
+    long maxTransferKb() default 0;
+}
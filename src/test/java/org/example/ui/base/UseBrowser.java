@@ -0,0 +1,13 @@
+package org.example.ui.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Runs a UI test class or method in the given browser ("chrome" or "firefox") instead of the configured one
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UseBrowser {
+    String value();
+}
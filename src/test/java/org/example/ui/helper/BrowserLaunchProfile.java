@@ -0,0 +1,144 @@
+package org.example.ui.helper;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.Collections;
+import java.util.logging.Level;
+
+// Named set of browser launch options, read from the browserProfile.<name>.* keys in config.properties.
+// The same switches are translated into Chrome arguments and Firefox preferences.
+@Getter
+@Builder(toBuilder = true)
+public class BrowserLaunchProfile {
+
+    @Builder.Default
+    private final String name = "default";
+
+    @Builder.Default
+    private final boolean headless = false;
+
+    // EAGER hands control back at DOMContentLoaded instead of waiting for every image and script
+    @Builder.Default
+    private final PageLoadStrategy pageLoadStrategy = PageLoadStrategy.NORMAL;
+
+    @Builder.Default
+    private final boolean disableImages = false;
+
+    // Web fonts only; text still renders with the system fonts
+    @Builder.Default
+    private final boolean disableFonts = false;
+
+    @Builder.Default
+    private final boolean disableExtensions = false;
+
+    @Builder.Default
+    private final boolean disableGpu = false;
+
+    // Fixed viewport in pixels; 0 keeps the window maximized
+    @Builder.Default
+    private final int windowWidth = 0;
+
+    @Builder.Default
+    private final int windowHeight = 0;
+
+    // Silences browser and driver console output except fatal errors
+    @Builder.Default
+    private final boolean quietLogging = false;
+
+    // Profile selected by the browserProfile key
+    public static BrowserLaunchProfile fromConfig() {
+        return fromConfig(ConfigReader.getProperty("browserProfile", "default"));
+    }
+
+    public static BrowserLaunchProfile fromConfig(String name) {
+        String prefix = "browserProfile." + name + ".";
+        return BrowserLaunchProfile.builder()
+                .name(name)
+                .headless(flag(prefix + "headless"))
+                .pageLoadStrategy(PageLoadStrategy.valueOf(
+                        ConfigReader.getProperty(prefix + "pageLoadStrategy", "normal").trim().toUpperCase()))
+                .disableImages(flag(prefix + "disableImages"))
+                .disableFonts(flag(prefix + "disableFonts"))
+                .disableExtensions(flag(prefix + "disableExtensions"))
+                .disableGpu(flag(prefix + "disableGpu"))
+                .windowWidth(ConfigReader.getIntProperty(prefix + "windowWidth", 0))
+                .windowHeight(ConfigReader.getIntProperty(prefix + "windowHeight", 0))
+                .quietLogging(flag(prefix + "quietLogging"))
+                .build();
+    }
+
+    public boolean hasFixedViewport() {
+        return windowWidth > 0 && windowHeight > 0;
+    }
+
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        // Keeps the console log readable for failure artifacts
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability("goog:loggingPrefs", logging);
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (disableImages) {
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        if (disableFonts) {
+            options.addArguments("--disable-remote-fonts");
+        }
+        if (disableExtensions) {
+            options.addArguments("--disable-extensions");
+        }
+        if (disableGpu) {
+            options.addArguments("--disable-gpu");
+        }
+        if (hasFixedViewport()) {
+            options.addArguments("--window-size=" + windowWidth + "," + windowHeight);
+        }
+        if (quietLogging) {
+            options.addArguments("--log-level=3");
+            options.setExperimentalOption("excludeSwitches", Collections.singletonList("enable-logging"));
+        }
+        return options;
+    }
+
+    public FirefoxOptions toFirefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (headless) {
+            options.addArguments("-headless");
+        }
+        if (disableImages) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        if (disableFonts) {
+            options.addPreference("browser.display.use_document_fonts", 0);
+        }
+        if (disableExtensions) {
+            // The driver starts from a fresh profile, so this only stops add-ons from being installed mid-run
+            options.addPreference("xpinstall.enabled", false);
+        }
+        if (disableGpu) {
+            options.addPreference("layers.acceleration.disabled", true);
+        }
+        if (hasFixedViewport()) {
+            options.addArguments("--width=" + windowWidth, "--height=" + windowHeight);
+        }
+        if (quietLogging) {
+            options.addPreference("devtools.console.stdout.content", false);
+        }
+        return options;
+    }
+
+    private static boolean flag(String key) {
+        return Boolean.parseBoolean(ConfigReader.getProperty(key, "false").trim());
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.ui.helper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A launched browser plus how many tests it has served
+class BrowserSession {
+    private static final Logger logger = LogManager.getLogger(BrowserSession.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private static final AtomicInteger launched = new AtomicInteger();
+
+    private final String browser;
+    private final int number = launched.incrementAndGet();
+    private final WebDriver driver;
+    private final String primaryWindow;
+    private final RequestBlocker requestBlocker;
+    private final NetworkRecorder networkRecorder;
+    private final long launchMillis;
+    private final int gridQueuedAhead;
+    private int uses;
+
+    BrowserSession(String browser, WebDriver driver, RequestBlocker requestBlocker, NetworkRecorder networkRecorder,
+                   long launchMillis, int gridQueuedAhead) {
+        this.browser = browser;
+        this.driver = driver;
+        this.primaryWindow = driver.getWindowHandle();
+        this.requestBlocker = requestBlocker;
+        this.networkRecorder = networkRecorder;
+        this.launchMillis = launchMillis;
+        this.gridQueuedAhead = gridQueuedAhead;
+    }
+
+    String getBrowser() {
+        return browser;
+    }
+
+    // Names the current lease, e.g. chrome-session3-use2; only unique within this JVM
+    String leaseName() {
+        return String.format(Locale.ROOT, "%s-session%d-use%d", browser, number, uses);
+    }
+
+    // How the current test got this session: waiting for a pool slot, and launching it (queueing at the Grid) if new
+    String describe(Long leaseMillis) {
+        StringBuilder description = new StringBuilder(String.format(Locale.ROOT, "Browser: %s%nUse of this session: %d%n", browser, uses));
+        if (leaseMillis != null) {
+            description.append(String.format(Locale.ROOT, "Lease took: %d ms%n", leaseMillis));
+        }
+        if (uses == 1) {
+            description.append(String.format(Locale.ROOT, "Launch took: %d ms%n", launchMillis));
+            if (gridQueuedAhead >= 0) {
+                description.append(String.format(Locale.ROOT, "Grid requests queued ahead at launch: %d%n", gridQueuedAhead));
+            }
+        }
+        return description.toString();
+    }
+
+    WebDriver getDriver() {
+        return driver;
+    }
+
+    // Blocked and transferred requests since the previous call; null when blocking is off
+    String networkReport() {
+        return requestBlocker == null ? null : requestBlocker.snapshotAndReset();
+    }
+
+    // Null when network capture is off
+    NetworkRecorder getNetworkRecorder() {
+        return networkRecorder;
+    }
+
+    // HAR log of the current test's requests; null when network capture is off or nothing was loaded
+    String drainHar() {
+        return networkRecorder == null ? null : networkRecorder.drainHar();
+    }
+
+    int getUses() {
+        return uses;
+    }
+
+    void markLeased() {
+        uses++;
+        // Drops whatever the previous reset's navigation to about:blank recorded
+        networkReport();
+        if (networkRecorder != null) {
+            networkRecorder.clear();
+        }
+    }
+
+    // Puts the browser back to a blank state: extra windows closed, cookies and web storage cleared, on about:blank.
+    // Returns false when the browser no longer responds and has to be replaced.
+    boolean reset() {
+        try {
+            // The first tab is kept since DevTools request blocking is attached to it
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            if (!handles.contains(primaryWindow)) {
+                return false;
+            }
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                clearCurrentOrigin();
+                if (!handle.equals(primaryWindow)) {
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(primaryWindow);
+            if (driver instanceof HasCdp) {
+                // Also drops cookies of origins that were visited but are no longer open in any window
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            }
+            driver.navigate().to("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Could not reset browser session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Cookies and storage are scoped to the page's origin, so they are cleared while it is still open
+    private void clearCurrentOrigin() {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+    }
+
+    void quit() {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Could not quit browser session: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.ui.helper;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+
+import java.time.Duration;
+
+// Size of the warm browser pool and when a session is thrown away instead of being reused
+@Getter
+@Builder(toBuilder = true)
+public class BrowserSessionPolicy {
+
+    // Browsers alive at once; matches the JUnit parallelism so no test waits for a slot
+    @Builder.Default
+    private final int poolSize = 2;
+
+    // A session is quit and relaunched after this many tests, bounding leaked state and browser memory growth
+    @Builder.Default
+    private final int maxUsesPerSession = 20;
+
+    @Builder.Default
+    private final Duration leaseTimeout = Duration.ofSeconds(120);
+
+    // Policy described by the browserPool* keys in config.properties
+    public static BrowserSessionPolicy fromConfig() {
+        return BrowserSessionPolicy.builder()
+                .poolSize(ConfigReader.getIntProperty("browserPoolSize", 2))
+                .maxUsesPerSession(ConfigReader.getIntProperty("browserPoolMaxUsesPerSession", 20))
+                .leaseTimeout(Duration.ofSeconds(ConfigReader.getLongProperty("browserPoolLeaseTimeoutSeconds", 120)))
+                .build();
+    }
+}
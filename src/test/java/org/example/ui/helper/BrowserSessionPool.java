@@ -0,0 +1,82 @@
+package org.example.ui.helper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Bounded pool of warm browser sessions: a browser is launched once per slot and reset between tests
+// rather than quit, and only relaunched after maxUsesPerSession tests or when a test using it failed
+class BrowserSessionPool {
+    private static final Logger logger = LogManager.getLogger(BrowserSessionPool.class);
+
+    private final BrowserSessionPolicy policy;
+    private final Supplier<BrowserSession> launcher;
+    private final Semaphore slots;
+    private final BlockingDeque<BrowserSession> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger launched = new AtomicInteger();
+
+    BrowserSessionPool(BrowserSessionPolicy policy, Supplier<BrowserSession> launcher) {
+        this.policy = policy;
+        this.launcher = launcher;
+        this.slots = new Semaphore(policy.getPoolSize(), true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-pool-shutdown"));
+    }
+
+    // Blocks until a slot is free, then hands out the most recently used idle session or launches a new one
+    BrowserSession lease() {
+        try {
+            if (!slots.tryAcquire(policy.getLeaseTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No browser session became available within "
+                        + policy.getLeaseTimeout().getSeconds() + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        BrowserSession session = idle.pollFirst();
+        if (session == null) {
+            try {
+                session = launcher.get();
+            } catch (RuntimeException e) {
+                slots.release();
+                throw e;
+            }
+            logger.info("Launched browser session #{}", launched.incrementAndGet());
+        }
+        session.markLeased();
+        return session;
+    }
+
+    // Returns a session after a test; failed or worn-out sessions, and those that cannot be reset, are quit instead
+    void release(BrowserSession session, boolean failed) {
+        try {
+            if (failed) {
+                logger.info("Recycling browser session after a failed test");
+                session.quit();
+            } else if (session.getUses() >= policy.getMaxUsesPerSession()) {
+                logger.info("Recycling browser session after {} uses", session.getUses());
+                session.quit();
+            } else if (session.reset()) {
+                idle.offerFirst(session);
+            } else {
+                session.quit();
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    private void shutdown() {
+        BrowserSession session;
+        while ((session = idle.pollFirst()) != null) {
+            session.quit();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.ui.helper;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+// PageFactory decorator whose @FindBy element proxies resolve through the page's ElementCache. A call that hits a
+// stale element drops it from the cache and is retried once on a fresh lookup. List fields are not cached.
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    public CachingFieldDecorator(SearchContext searchContext, ElementCache cache) {
+        super(field -> new CachingElementLocator(searchContext, cache, field));
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        InvocationHandler handler = new StaleRetryingHandler((CachingElementLocator) locator);
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class[]{WebElement.class, WrapsElement.class, Locatable.class}, handler);
+    }
+
+    // Locates single elements through the cache and lists directly, as the default locator does
+    private static final class CachingElementLocator implements ElementLocator {
+        private final ElementCache cache;
+        private final By by;
+        private final ElementLocator listLocator;
+
+        private CachingElementLocator(SearchContext searchContext, ElementCache cache, Field field) {
+            this.cache = cache;
+            this.by = new Annotations(field).buildBy();
+            this.listLocator = new DefaultElementLocator(searchContext, field);
+        }
+
+        @Override
+        public WebElement findElement() {
+            return cache.find(by);
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return listLocator.findElements();
+        }
+
+        private void invalidate() {
+            cache.invalidate(by);
+        }
+
+        @Override
+        public String toString() {
+            return "cached " + by;
+        }
+    }
+
+    private static final class StaleRetryingHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        private StaleRetryingHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator;
+            }
+            try {
+                return invokeOn(locator.findElement(), method, args);
+            } catch (StaleElementReferenceException e) {
+                locator.invalidate();
+                return invokeOn(locator.findElement(), method, args);
+            }
+        }
+
+        private static Object invokeOn(WebElement element, Method method, Object[] args) throws Throwable {
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,52 +1,192 @@
 package org.example.ui.helper;
 
+import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.utils.ConfigReader;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chromium.ChromiumDriverLogLevel;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxDriverLogLevel;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
-// Manages WebDriver instances
+// Manages WebDriver instances, leasing each test thread a warm browser from a pool per browser; the browsers run
+// locally or, when seleniumGridUrl is set, as RemoteWebDriver sessions on a Selenium Grid
 public class DriverManager {
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
-    private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final BrowserLaunchProfile profile = BrowserLaunchProfile.fromConfig();
+    private static final RequestBlockingPolicy requestBlockingPolicy = RequestBlockingPolicy.fromConfig();
+    private static final NetworkCapturePolicy networkCapturePolicy = NetworkCapturePolicy.fromConfig();
+    private static final BrowserSessionPolicy sessionPolicy = BrowserSessionPolicy.fromConfig();
+    // Null when browsers are launched locally; otherwise sessions are requested from this Selenium Grid
+    private static final URL gridUrl = SeleniumGrid.resolve(ConfigReader.getProperty("seleniumGridUrl", ""));
+    private static final Map<String, BrowserSessionPool> pools = new ConcurrentHashMap<>();
+    private static ThreadLocal<BrowserSession> session = new ThreadLocal<>();
+    private static ThreadLocal<String> requestedBrowser = new ThreadLocal<>();
+    private static ThreadLocal<Long> leaseMillis = new ThreadLocal<>();
+    private static ThreadLocal<String> testName = new ThreadLocal<>();
+    // Surefire starts a JVM per test class and reuses fork numbers, so HAR file names also carry the process id
+    private static final String processSuffix = "-fork" + System.getProperty("forkNumber", "1") + "-pid"
+            + ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
 
     public static WebDriver getDriver() {
-        if (driver.get() == null) {
-            initializeDriver();
+        if (session.get() == null) {
+            String browser = requestedBrowser.get() != null ? requestedBrowser.get() : ConfigReader.getProperty("browser");
+            BrowserSessionPool pool = pools.computeIfAbsent(browser.toLowerCase(),
+                    key -> new BrowserSessionPool(sessionPolicy, () -> launchSession(key)));
+            long start = System.nanoTime();
+            session.set(pool.lease());
+            leaseMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            PagePerformanceCollector.track(session.get().getDriver());
+            PageWeightCollector.track(session.get().getNetworkRecorder());
         }
-        return driver.get();
+        return session.get().getDriver();
     }
 
-    private static void initializeDriver() {
-        String browser = ConfigReader.getProperty("browser");
-        logger.info("Initializing {} driver", browser);
+    // Browser for the next getDriver call on this thread; null goes back to the configured browser
+    public static void useBrowser(String browser) {
+        if (browser == null) {
+            requestedBrowser.remove();
+        } else {
+            requestedBrowser.set(browser);
+        }
+    }
+
+    // Names the test running on this thread, for the files written when its browser is released
+    public static void nameTest(String name) {
+        testName.set(name);
+    }
+
+    // Driver leased by this thread, without leasing one if there is none
+    public static WebDriver currentDriver() {
+        return session.get() == null ? null : session.get().getDriver();
+    }
+
+    private static BrowserSession launchSession(String browser) {
+        int queuedAhead = gridUrl == null ? -1 : SeleniumGrid.queueSize(gridUrl);
+        long start = System.nanoTime();
+        WebDriver webDriver = createDriver(browser);
+        long launchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (gridUrl != null) {
+            logger.info("Grid {} session started in {} ms with {} requests queued ahead", browser, launchMillis, queuedAhead);
+        }
+        try {
+            PagePerformanceCollector.install(webDriver);
+            return new BrowserSession(browser, webDriver, RequestBlocker.attach(webDriver, requestBlockingPolicy),
+                    NetworkRecorder.attach(webDriver, networkCapturePolicy), launchMillis, queuedAhead);
+        } catch (RuntimeException e) {
+            webDriver.quit();
+            throw e;
+        }
+    }
+
+    private static WebDriver createDriver(String browser) {
+        logger.info("Initializing {} driver with the {} launch profile{}", browser, profile.getName(),
+                gridUrl == null ? "" : " on the Selenium Grid at " + gridUrl);
+        if (gridUrl != null) {
+            return configure(createRemoteDriver(browser));
+        }
         WebDriver webDriver;
 
-        switch (browser.toLowerCase()) {
+        switch (browser) {
             case "firefox":
-                webDriver = new FirefoxDriver();
+                GeckoDriverService.Builder geckoService = new GeckoDriverService.Builder();
+                if (profile.isQuietLogging()) {
+                    geckoService.withLogLevel(FirefoxDriverLogLevel.FATAL);
+                }
+                webDriver = new FirefoxDriver(geckoService.build(), profile.toFirefoxOptions());
                 break;
             case "chrome":
             default:
-                webDriver = new ChromeDriver();
+                ChromeDriverService.Builder chromeService = new ChromeDriverService.Builder();
+                if (profile.isQuietLogging()) {
+                    chromeService.withLogLevel(ChromiumDriverLogLevel.OFF);
+                }
+                webDriver = new ChromeDriver(chromeService.build(), profile.toChromeOptions());
                 break;
         }
+        return configure(webDriver);
+    }
+
+    // Blocks while the Grid queues the request until a slot is free; Chrome sessions are augmented with DevTools
+    private static WebDriver createRemoteDriver(String browser) {
+        Capabilities options = "firefox".equals(browser) ? profile.toFirefoxOptions() : profile.toChromeOptions();
+        WebDriver webDriver = new RemoteWebDriver(gridUrl, options);
+        return "firefox".equals(browser) ? webDriver : new Augmenter().augment(webDriver);
+    }
+
+    private static WebDriver configure(WebDriver webDriver) {
+        // A fixed viewport is set by the launch arguments; maximizing a headless window would undo it
+        if (!profile.hasFixedViewport()) {
+            webDriver.manage().window().maximize();
+        }
+        // Waiting is left to BasePage alone; an implicit wait would add to every explicit wait and negative check
+        webDriver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        // Mutation observer waits time out in the page, this only catches a page that stopped responding
+        webDriver.manage().timeouts().scriptTimeout(WaitPolicy.fromConfig().getTimeout().plusSeconds(5));
+        return webDriver;
+    }
 
-        webDriver.manage().window().maximize();
-        webDriver.manage().timeouts().implicitlyWait(
-            Duration.ofSeconds(Long.parseLong(ConfigReader.getProperty("implicitWait")))
-        );
-        driver.set(webDriver);
+    // Hands the browser back to the pool, reset for the next test
+    public static void releaseDriver() {
+        release(false);
     }
 
+    // Ends this thread's browser for good, e.g. after a failure left it in an unknown state
     public static void quitDriver() {
-        if (driver.get() != null) {
-            logger.info("Quitting WebDriver");
-            driver.get().quit();
-            driver.remove();
+        release(true);
+    }
+
+    private static void release(boolean discard) {
+        BrowserSession leased = session.get();
+        if (leased != null) {
+            logger.info(discard ? "Quitting WebDriver" : "Returning WebDriver to the pool");
+            session.remove();
+            PagePerformanceCollector.untrack();
+            PageWeightCollector.untrack();
+            Allure.addAttachment("Browser session", "text/plain", leased.describe(leaseMillis.get()), ".txt");
+            String networkReport = leased.networkReport();
+            if (networkReport != null) {
+                Allure.addAttachment("Blocked requests", "text/plain", networkReport, ".txt");
+            }
+            String har = leased.drainHar();
+            if (har != null) {
+                Allure.addAttachment("Network traffic", "application/json", har, ".har");
+                saveHar(testName.get() != null ? testName.get() : leased.leaseName(), har);
+            }
+            testName.remove();
+            pools.get(leased.getBrowser()).release(leased, discard);
+        }
+    }
+
+    // One file per test in networkCaptureHarDirectory, for tools that read HAR directly
+    private static void saveHar(String name, String har) {
+        if (networkCapturePolicy.getHarDirectory().isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(networkCapturePolicy.getHarDirectory(),
+                name.replaceAll("[^A-Za-z0-9._-]+", "_") + processSuffix + ".har");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, har.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Could not write HAR file {}: {}", file, e.getMessage());
         }
     }
-} 
+}
@@ -0,0 +1,60 @@
+package org.example.ui.helper;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Elements a page object has already located, per locator, so repeated interactions on a stable page skip the
+// remote lookup. Entries are dropped when they go stale or when the page navigates; misses are never cached.
+public class ElementCache {
+    private static final ThreadLocal<long[]> stats = ThreadLocal.withInitial(() -> new long[3]);
+    private static final int HITS = 0;
+    private static final int MISSES = 1;
+    private static final int INVALIDATIONS = 2;
+
+    private final SearchContext searchContext;
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    public ElementCache(SearchContext searchContext) {
+        this.searchContext = searchContext;
+    }
+
+    // First element matching the locator; throws NoSuchElementException like findElement when there is none
+    public WebElement find(By by) {
+        WebElement element = elements.get(by);
+        if (element != null) {
+            stats.get()[HITS]++;
+            return element;
+        }
+        stats.get()[MISSES]++;
+        element = searchContext.findElement(by);
+        elements.put(by, element);
+        return element;
+    }
+
+    public void invalidate(By by) {
+        if (elements.remove(by) != null) {
+            stats.get()[INVALIDATIONS]++;
+        }
+    }
+
+    public void clear() {
+        stats.get()[INVALIDATIONS] += elements.size();
+        elements.clear();
+    }
+
+    // Lookups by the test running on this thread since the previous call, or null if there were none
+    public static String drainStats() {
+        long[] counts = stats.get();
+        stats.remove();
+        if (counts[HITS] + counts[MISSES] == 0) {
+            return null;
+        }
+        return String.format(Locale.ROOT, "Element lookups: %d cache hits, %d misses (remote lookups), %d invalidated",
+                counts[HITS], counts[MISSES], counts[INVALIDATIONS]);
+    }
+}
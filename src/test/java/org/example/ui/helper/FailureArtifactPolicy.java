@@ -0,0 +1,39 @@
+package org.example.ui.helper;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+
+// Limits on the screenshot, DOM snapshot and console log captured when a UI test fails
+@Getter
+@Builder(toBuilder = true)
+public class FailureArtifactPolicy {
+
+    // Captures waiting to be encoded; further failures are captured without waiting for the backlog (and dropped)
+    @Builder.Default
+    private final int queueCapacity = 8;
+
+    // Screenshots wider than this are scaled down before being re-encoded as JPEG
+    @Builder.Default
+    private final int maxScreenshotWidth = 1280;
+
+    @Builder.Default
+    private final float jpegQuality = 0.7f;
+
+    @Builder.Default
+    private final int maxDomChars = 1_000_000;
+
+    @Builder.Default
+    private final int maxConsoleEntries = 200;
+
+    // Policy described by the failureArtifact* keys in config.properties
+    public static FailureArtifactPolicy fromConfig() {
+        return FailureArtifactPolicy.builder()
+                .queueCapacity(ConfigReader.getIntProperty("failureArtifactQueueCapacity", 8))
+                .maxScreenshotWidth(ConfigReader.getIntProperty("failureArtifactMaxScreenshotWidth", 1280))
+                .jpegQuality(Float.parseFloat(ConfigReader.getProperty("failureArtifactJpegQuality", "0.7")))
+                .maxDomChars(ConfigReader.getIntProperty("failureArtifactMaxDomChars", 1_000_000))
+                .maxConsoleEntries(ConfigReader.getIntProperty("failureArtifactMaxConsoleEntries", 200))
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.ui.helper;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Failure capture that keeps the test thread to the raw browser calls: the screenshot, DOM and console log are
+// grabbed and their Allure attachments reserved there, while downscaling, JPEG encoding and writing the files
+// happen on a background thread. Pending captures are bounded and flushed before the JVM exits.
+public final class FailureArtifacts {
+    private static final Logger logger = LogManager.getLogger(FailureArtifacts.class);
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final FailureArtifactPolicy policy = FailureArtifactPolicy.fromConfig();
+    private static final Semaphore pending = new Semaphore(policy.getQueueCapacity());
+    private static final ExecutorService encoder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "failure-artifacts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // Encodes in memory; ImageIO's temp-file cache is slower and is closed by its own shutdown hook
+        ImageIO.setUseCache(false);
+        // Fallback for captures outside a JUnit run, which is normally flushed when the test plan ends
+        Runtime.getRuntime().addShutdownHook(new Thread(FailureArtifacts::flush, "failure-artifacts-flush"));
+    }
+
+    private FailureArtifacts() {
+    }
+
+    // Captures the browser state for the Allure result of the test running on this thread
+    public static void capture(WebDriver driver, String name) {
+        if (!pending.tryAcquire()) {
+            logger.warn("{} failure captures are already pending, skipping artifacts for {}", policy.getQueueCapacity(), name);
+            return;
+        }
+        byte[] screenshot = null;
+        String dom = null;
+        List<LogEntry> console = null;
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            dom = driver.getPageSource();
+            console = consoleLog(driver);
+        } catch (WebDriverException e) {
+            logger.warn("Could not capture all failure artifacts: {}", e.getMessage());
+        }
+
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String screenshotSource = screenshot == null ? null : lifecycle.prepareAttachment(name + " screenshot", "image/jpeg", ".jpg");
+        String domSource = dom == null ? null : lifecycle.prepareAttachment(name + " DOM", "text/html", ".html");
+        String consoleSource = console == null ? null : lifecycle.prepareAttachment(name + " console log", "text/plain", ".txt");
+
+        byte[] rawScreenshot = screenshot;
+        String rawDom = dom;
+        List<LogEntry> rawConsole = console;
+        encoder.execute(() -> {
+            try {
+                if (screenshotSource != null) {
+                    write(lifecycle, screenshotSource, encodeScreenshot(rawScreenshot));
+                }
+                if (domSource != null) {
+                    write(lifecycle, domSource, truncate(rawDom, policy.getMaxDomChars()).getBytes(StandardCharsets.UTF_8));
+                }
+                if (consoleSource != null) {
+                    write(lifecycle, consoleSource, formatConsole(rawConsole).getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (RuntimeException | IOException e) {
+                logger.warn("Could not write failure artifacts for {}: {}", name, e.getMessage());
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    // Browser console entries; null when the driver does not expose them (e.g. Firefox)
+    private static List<LogEntry> consoleLog(WebDriver driver) {
+        try {
+            return driver.manage().logs().get(LogType.BROWSER).getAll();
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            logger.debug("Browser console log not available: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(AllureLifecycle lifecycle, String source, byte[] content) {
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(content));
+    }
+
+    // Downscales to the maximum width and re-encodes as JPEG, which is a fraction of the size of the raw PNG
+    private static byte[] encodeScreenshot(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        int width = Math.min(image.getWidth(), policy.getMaxScreenshotWidth());
+        int height = (int) Math.round(image.getHeight() * (width / (double) image.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(policy.getJpegQuality());
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String formatConsole(List<LogEntry> entries) {
+        int from = Math.max(0, entries.size() - policy.getMaxConsoleEntries());
+        List<String> lines = new ArrayList<>();
+        if (from > 0) {
+            lines.add("... " + from + " earlier entries omitted");
+        }
+        for (LogEntry entry : entries.subList(from, entries.size())) {
+            lines.add(String.format("%tT %-7s %s", new Date(entry.getTimestamp()), entry.getLevel(), entry.getMessage()));
+        }
+        return lines.isEmpty() ? "(empty)" : String.join("\n", lines);
+    }
+
+    private static String truncate(String text, int maxChars) {
+        return text.length() <= maxChars ? text : text.substring(0, maxChars) + "\n<!-- truncated after " + maxChars + " characters -->";
+    }
+
+    // Waits for pending captures so their attachment files exist before the run ends; no captures are taken after
+    public static void flush() {
+        encoder.shutdown();
+        try {
+            if (!encoder.awaitTermination(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Failure artifacts still pending after {}s", FLUSH_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
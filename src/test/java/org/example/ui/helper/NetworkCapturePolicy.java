@@ -0,0 +1,42 @@
+package org.example.ui.helper;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+
+// Whether UI sessions record their network traffic, where the HAR files go and how steps are checked against
+// their page's @PageWeightBudget
+@Getter
+@Builder(toBuilder = true)
+public class NetworkCapturePolicy {
+
+    @Builder.Default
+    private final boolean enabled = false;
+
+    // One HAR file per test is written here; empty keeps them as Allure attachments only
+    @Builder.Default
+    private final String harDirectory = "";
+
+    // Requests kept per test, so a polling page cannot grow a HAR without bound
+    @Builder.Default
+    private final int maxEntries = 2000;
+
+    // Slowest resources listed in each step's summary
+    @Builder.Default
+    private final int slowestResources = 5;
+
+    // Exceeded page-weight budgets fail the step; otherwise they are only reported
+    @Builder.Default
+    private final boolean budgetsEnforced = true;
+
+    // Policy described by the networkCapture* and pageWeightBudgetsEnforced keys in config.properties
+    public static NetworkCapturePolicy fromConfig() {
+        return NetworkCapturePolicy.builder()
+                .enabled(Boolean.parseBoolean(ConfigReader.getProperty("networkCaptureEnabled", "false")))
+                .harDirectory(ConfigReader.getProperty("networkCaptureHarDirectory", "").trim())
+                .maxEntries(ConfigReader.getIntProperty("networkCaptureMaxEntries", 2000))
+                .slowestResources(ConfigReader.getIntProperty("networkCaptureSlowestResources", 5))
+                .budgetsEnforced(Boolean.parseBoolean(ConfigReader.getProperty("pageWeightBudgetsEnforced", "true")))
+                .build();
+    }
+}
@@ -0,0 +1,354 @@
+package org.example.ui.helper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.BuildInfo;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Records every request of the session through DevTools Network events, for the per-step page-weight summaries
+// and a HAR 1.2 log per test. Raw CDP events are used so the recorder does not depend on the Chrome version.
+// Covers the session's first tab only.
+class NetworkRecorder {
+    private static final Logger logger = LogManager.getLogger(NetworkRecorder.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT =
+            new Event<>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED =
+            new Event<>("Network.responseReceived", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FINISHED =
+            new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FAILED =
+            new Event<>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE));
+
+    private final NetworkCapturePolicy policy;
+    private final DevTools devTools;
+    private final Map<String, Entry> inFlight = new ConcurrentHashMap<>();
+    // In completion order; guarded by itself
+    private final List<Entry> completed = new ArrayList<>();
+    private int dropped;
+
+    // One request and its response; CDP timestamps are seconds on a monotonic clock
+    static final class Entry {
+        private final String url;
+        private final String method;
+        private final String resourceType;
+        private final Map<String, Object> requestHeaders;
+        private final double wallTime;
+        private final double startTimestamp;
+        private double responseTimestamp;
+        private double endTimestamp;
+        private int status;
+        private String statusText = "";
+        private String mimeType = "";
+        private String protocol = "";
+        private Map<String, Object> responseHeaders = Collections.emptyMap();
+        private long transferBytes;
+        private String errorText;
+        private String pageref;
+
+        private Entry(String url, String method, String resourceType, Map<String, Object> requestHeaders,
+                      double wallTime, double startTimestamp) {
+            this.url = url;
+            this.method = method;
+            this.resourceType = resourceType;
+            this.requestHeaders = requestHeaders;
+            this.wallTime = wallTime;
+            this.startTimestamp = startTimestamp;
+        }
+
+        String getUrl() {
+            return url;
+        }
+
+        long getTransferBytes() {
+            return transferBytes;
+        }
+
+        boolean isFailed() {
+            return errorText != null;
+        }
+
+        double durationMillis() {
+            return Math.max(0, (endTimestamp - startTimestamp) * 1000);
+        }
+    }
+
+    private NetworkRecorder(NetworkCapturePolicy policy, DevTools devTools) {
+        this.policy = policy;
+        this.devTools = devTools;
+    }
+
+    // Starts recording in the driver's browser; null when capture is off or the browser has no DevTools
+    static NetworkRecorder attach(WebDriver driver, NetworkCapturePolicy policy) {
+        if (!policy.isEnabled()) {
+            return null;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Network capture needs Chrome DevTools, not available for {}", driver.getClass().getSimpleName());
+            return null;
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        NetworkRecorder recorder = new NetworkRecorder(policy, devTools);
+        recorder.start();
+        return recorder;
+    }
+
+    private void start() {
+        devTools.addListener(REQUEST_WILL_BE_SENT, this::onRequestWillBeSent);
+        devTools.addListener(RESPONSE_RECEIVED, event -> {
+            Entry entry = inFlight.get((String) event.get("requestId"));
+            if (entry != null) {
+                applyResponse(entry, map(event.get("response")), number(event.get("timestamp")));
+            }
+        });
+        devTools.addListener(LOADING_FINISHED, event -> {
+            Entry entry = inFlight.remove((String) event.get("requestId"));
+            if (entry != null) {
+                entry.transferBytes = (long) number(event.get("encodedDataLength"));
+                complete(entry, number(event.get("timestamp")));
+            }
+        });
+        devTools.addListener(LOADING_FAILED, event -> {
+            Entry entry = inFlight.remove((String) event.get("requestId"));
+            if (entry != null) {
+                entry.errorText = String.valueOf(event.get("errorText"));
+                complete(entry, number(event.get("timestamp")));
+            }
+        });
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+        logger.info("Recording network traffic, up to {} requests per test", policy.getMaxEntries());
+    }
+
+    private void onRequestWillBeSent(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        double timestamp = number(event.get("timestamp"));
+        // A redirect reuses the request id: the previous hop ends here with the redirect response
+        Entry previous = inFlight.remove(requestId);
+        if (previous != null && event.get("redirectResponse") != null) {
+            Map<String, Object> redirect = map(event.get("redirectResponse"));
+            applyResponse(previous, redirect, timestamp);
+            previous.transferBytes = (long) number(redirect.get("encodedDataLength"));
+            complete(previous, timestamp);
+        }
+        Map<String, Object> request = map(event.get("request"));
+        inFlight.put(requestId, new Entry((String) request.get("url"), (String) request.get("method"),
+                event.get("type") == null ? "Other" : (String) event.get("type"), map(request.get("headers")),
+                number(event.get("wallTime")), timestamp));
+    }
+
+    private static void applyResponse(Entry entry, Map<String, Object> response, double timestamp) {
+        entry.responseTimestamp = timestamp;
+        entry.status = (int) number(response.get("status"));
+        entry.statusText = response.get("statusText") == null ? "" : (String) response.get("statusText");
+        entry.mimeType = response.get("mimeType") == null ? "" : (String) response.get("mimeType");
+        entry.protocol = response.get("protocol") == null ? "" : (String) response.get("protocol");
+        entry.responseHeaders = map(response.get("headers"));
+    }
+
+    private void complete(Entry entry, double timestamp) {
+        entry.endTimestamp = timestamp;
+        synchronized (completed) {
+            if (completed.size() < policy.getMaxEntries()) {
+                completed.add(entry);
+            } else {
+                dropped++;
+            }
+        }
+    }
+
+    // Position a later since() or claim() call counts from
+    int mark() {
+        synchronized (completed) {
+            return completed.size();
+        }
+    }
+
+    List<Entry> since(int mark) {
+        synchronized (completed) {
+            return new ArrayList<>(completed.subList(Math.min(mark, completed.size()), completed.size()));
+        }
+    }
+
+    // Files the requests completed since the mark under the step in the HAR, unless an inner step already did
+    void claim(int mark, String step) {
+        for (Entry entry : since(mark)) {
+            if (entry.pageref == null) {
+                entry.pageref = step;
+            }
+        }
+    }
+
+    // Forgets what was recorded so far, e.g. the previous reset's navigation to about:blank
+    void clear() {
+        synchronized (completed) {
+            completed.clear();
+            dropped = 0;
+        }
+    }
+
+    // HAR log of the requests completed since the previous call, pages being the steps; null when there were none
+    String drainHar() {
+        List<Entry> entries;
+        int droppedEntries;
+        synchronized (completed) {
+            entries = new ArrayList<>(completed);
+            droppedEntries = dropped;
+            completed.clear();
+            dropped = 0;
+        }
+        if (entries.isEmpty()) {
+            return null;
+        }
+        if (droppedEntries > 0) {
+            logger.warn("HAR left out {} requests over the networkCaptureMaxEntries limit", droppedEntries);
+        }
+
+        Map<String, Map<String, Object>> pages = new LinkedHashMap<>();
+        List<Map<String, Object>> harEntries = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.pageref != null && !pages.containsKey(entry.pageref)) {
+                Map<String, Object> page = new LinkedHashMap<>();
+                page.put("startedDateTime", startedDateTime(entry));
+                page.put("id", entry.pageref);
+                page.put("title", entry.pageref);
+                page.put("pageTimings", Collections.emptyMap());
+                pages.put(entry.pageref, page);
+            }
+            harEntries.add(toHar(entry));
+        }
+
+        Map<String, Object> creator = new LinkedHashMap<>();
+        creator.put("name", "Selenium DevTools");
+        creator.put("version", new BuildInfo().getReleaseLabel());
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", creator);
+        log.put("pages", new ArrayList<>(pages.values()));
+        log.put("entries", harEntries);
+        try {
+            return mapper.writeValueAsString(Collections.singletonMap("log", log));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write HAR log", e);
+        }
+    }
+
+    private static Map<String, Object> toHar(Entry entry) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("method", entry.method);
+        request.put("url", entry.url);
+        request.put("httpVersion", entry.protocol);
+        request.put("cookies", Collections.emptyList());
+        request.put("headers", headers(entry.requestHeaders));
+        request.put("queryString", queryString(entry.url));
+        request.put("headersSize", -1);
+        request.put("bodySize", -1);
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("size", -1);
+        content.put("mimeType", entry.mimeType);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", entry.status);
+        response.put("statusText", entry.statusText);
+        response.put("httpVersion", entry.protocol);
+        response.put("cookies", Collections.emptyList());
+        response.put("headers", headers(entry.responseHeaders));
+        response.put("content", content);
+        Object location = entry.responseHeaders.getOrDefault("location", entry.responseHeaders.get("Location"));
+        response.put("redirectURL", location == null ? "" : String.valueOf(location));
+        response.put("headersSize", -1);
+        response.put("bodySize", -1);
+        if (entry.isFailed()) {
+            response.put("_error", entry.errorText);
+        }
+
+        // Without a response (failed requests) the whole duration counts as waiting
+        double waitMillis = entry.responseTimestamp > 0
+                ? Math.max(0, (entry.responseTimestamp - entry.startTimestamp) * 1000) : entry.durationMillis();
+        Map<String, Object> timings = new LinkedHashMap<>();
+        timings.put("blocked", -1);
+        timings.put("dns", -1);
+        timings.put("connect", -1);
+        timings.put("send", 0);
+        timings.put("wait", waitMillis);
+        timings.put("receive", Math.max(0, entry.durationMillis() - waitMillis));
+        timings.put("ssl", -1);
+
+        Map<String, Object> har = new LinkedHashMap<>();
+        if (entry.pageref != null) {
+            har.put("pageref", entry.pageref);
+        }
+        har.put("startedDateTime", startedDateTime(entry));
+        har.put("time", entry.durationMillis());
+        har.put("request", request);
+        har.put("response", response);
+        har.put("cache", Collections.emptyMap());
+        har.put("timings", timings);
+        har.put("_resourceType", entry.resourceType);
+        har.put("_transferSize", entry.transferBytes);
+        return har;
+    }
+
+    private static String startedDateTime(Entry entry) {
+        return Instant.ofEpochMilli((long) (entry.wallTime * 1000)).toString();
+    }
+
+    private static List<Map<String, Object>> headers(Map<String, Object> headers) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        headers.forEach((name, value) -> list.add(nameValue(name, String.valueOf(value))));
+        return list;
+    }
+
+    // Parameters as they appear in the URL, not decoded
+    private static List<Map<String, Object>> queryString(String url) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        String query;
+        try {
+            query = URI.create(url).getRawQuery();
+        } catch (IllegalArgumentException e) {
+            return list;
+        }
+        if (query == null) {
+            return list;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            list.add(separator < 0 ? nameValue(parameter, "")
+                    : nameValue(parameter.substring(0, separator), parameter.substring(separator + 1)));
+        }
+        return list;
+    }
+
+    private static Map<String, Object> nameValue(String name, String value) {
+        Map<String, Object> pair = new LinkedHashMap<>();
+        pair.put("name", name);
+        pair.put("value", value);
+        return pair;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
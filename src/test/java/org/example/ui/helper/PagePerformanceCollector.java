@@ -0,0 +1,178 @@
+package org.example.ui.helper;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.ui.models.PageMetrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Allure step listener (registered in META-INF/services) that reads Navigation Timing, paint, largest contentful
+// paint and long task data from the browser when a page-object @Step ends, attaches it to the step and keeps it
+// for the test's summary and pagePerf* threshold checks
+public class PagePerformanceCollector implements StepLifecycleListener {
+    private static final Logger logger = LogManager.getLogger(PagePerformanceCollector.class);
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final PagePerformancePolicy policy = PagePerformancePolicy.fromConfig();
+    // Browsers do not buffer long tasks, so every document records its own from the start
+    private static final String LONG_TASK_RECORDER =
+            "(function () {\n" +
+            "  window.__pagePerfLongTasks = [];\n" +
+            "  try {\n" +
+            "    new PerformanceObserver(function (list) {\n" +
+            "      list.getEntries().forEach(function (e) { window.__pagePerfLongTasks.push([e.startTime, e.duration]); });\n" +
+            "    }).observe({type: 'longtask', buffered: true});\n" +
+            "  } catch (e) {}\n" +
+            "})();";
+    private static final String COLLECT_SCRIPT =
+            "var done = arguments[arguments.length - 1];\n" +
+            "var nav = performance.getEntriesByType('navigation')[0];\n" +
+            "var paints = {};\n" +
+            "performance.getEntriesByType('paint').forEach(function (p) { paints[p.name] = p.startTime; });\n" +
+            "var result = {url: location.href, timeOrigin: performance.timeOrigin,\n" +
+            "  ttfbMillis: nav ? nav.responseStart : null,\n" +
+            "  domContentLoadedMillis: nav && nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd : null,\n" +
+            "  loadMillis: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd : null,\n" +
+            "  transferBytes: nav ? nav.transferSize : null,\n" +
+            "  firstPaintMillis: paints['first-paint'] || null,\n" +
+            "  firstContentfulPaintMillis: paints['first-contentful-paint'] || null,\n" +
+            "  largestContentfulPaintMillis: null,\n" +
+            "  longTasks: (window.__pagePerfLongTasks || []).slice()};\n" +
+            "function lcp(entries) { entries.forEach(function (e) { result.largestContentfulPaintMillis = e.renderTime || e.startTime; }); }\n" +
+            "var observer = null;\n" +
+            "try {\n" +
+            "  observer = new PerformanceObserver(function (list) { lcp(list.getEntries()); });\n" +
+            "  observer.observe({type: 'largest-contentful-paint', buffered: true});\n" +
+            "} catch (e) { observer = null; }\n" +
+            "// Buffered entries reach the observer in a later task\n" +
+            "setTimeout(function () {\n" +
+            "  if (observer) { lcp(observer.takeRecords()); observer.disconnect(); }\n" +
+            "  done(result);\n" +
+            "}, 20);";
+
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<List<PageMetrics>> collected = ThreadLocal.withInitial(ArrayList::new);
+    // Long tasks of the current document already assigned to an earlier step
+    private static final ThreadLocal<Map<Double, Integer>> longTasksSeen = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    // Prepares a new browser session: Chromium browsers start recording long tasks in every document
+    static void install(WebDriver webDriver) {
+        if (policy.isEnabled() && webDriver instanceof HasCdp) {
+            ((HasCdp) webDriver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Collections.singletonMap("source", LONG_TASK_RECORDER));
+        }
+    }
+
+    // Steps on this thread measure the given browser until untracked
+    static void track(WebDriver webDriver) {
+        driver.set(webDriver);
+    }
+
+    static void untrack() {
+        driver.remove();
+    }
+
+    @Override
+    public void beforeStepStop(StepResult result) {
+        WebDriver webDriver = driver.get();
+        if (!policy.isEnabled() || webDriver == null) {
+            return;
+        }
+        Map<?, ?> raw;
+        try {
+            raw = (Map<?, ?>) ((JavascriptExecutor) webDriver).executeAsyncScript(COLLECT_SCRIPT);
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Could not read page performance for step '{}': {}", result.getName(), e.getMessage());
+            return;
+        }
+        PageMetrics metrics = mapper.convertValue(raw, PageMetrics.class);
+        metrics.setStep(result.getName());
+        countNewLongTasks(metrics, (List<?>) raw.get("longTasks"));
+        collected.get().add(metrics);
+        Allure.addAttachment("Page performance", "text/plain", render(Collections.singletonList(metrics)), ".txt");
+    }
+
+    private static void countNewLongTasks(PageMetrics metrics, List<?> longTasks) {
+        if (longTasks == null) {
+            return;
+        }
+        Map<Double, Integer> seen = longTasksSeen.get();
+        int from = seen.getOrDefault(metrics.getTimeOrigin(), 0);
+        double millis = 0;
+        for (Object task : longTasks.subList(Math.min(from, longTasks.size()), longTasks.size())) {
+            millis += ((Number) ((List<?>) task).get(1)).doubleValue();
+        }
+        metrics.setLongTaskCount(Math.max(0, longTasks.size() - from));
+        metrics.setLongTaskMillis(millis);
+        seen.put(metrics.getTimeOrigin(), longTasks.size());
+    }
+
+    // Metrics of every step of the test running on this thread since the previous call
+    public static List<PageMetrics> drain() {
+        List<PageMetrics> metrics = collected.get();
+        collected.remove();
+        longTasksSeen.remove();
+        return metrics;
+    }
+
+    // Exceeded limits: page timings are checked on the last step seen on each document, long tasks per step
+    public static List<String> violations(List<PageMetrics> metrics) {
+        List<String> violations = new ArrayList<>();
+        Map<Double, PageMetrics> lastPerDocument = new LinkedHashMap<>();
+        for (PageMetrics step : metrics) {
+            lastPerDocument.put(step.getTimeOrigin(), step);
+            check(violations, step, "long tasks", step.getLongTaskMillis(), policy.getMaxLongTaskMillis());
+        }
+        for (PageMetrics page : lastPerDocument.values()) {
+            check(violations, page, "load", page.getLoadMillis(), policy.getMaxLoadMillis());
+            check(violations, page, "first contentful paint", page.getFirstContentfulPaintMillis(), policy.getMaxFirstContentfulPaintMillis());
+            check(violations, page, "largest contentful paint", page.getLargestContentfulPaintMillis(), policy.getMaxLargestContentfulPaintMillis());
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, PageMetrics metrics, String name, Double value, long limit) {
+        if (limit > 0 && value != null && value > limit) {
+            violations.add(String.format(Locale.ROOT, "%s of %s took %.0f ms, over the %d ms limit (step '%s')",
+                    name, metrics.getUrl(), value, limit, metrics.getStep()));
+        }
+    }
+
+    public static boolean isEnforced() {
+        return policy.isEnforced();
+    }
+
+    public static String render(List<PageMetrics> metrics) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%7s %7s %7s %7s %7s %7s %9s %9s  %s%n",
+                "TTFB", "DCL", "Load", "FP", "FCP", "LCP", "Long (n)", "KB", "Step / URL"));
+        for (PageMetrics step : metrics) {
+            table.append(String.format(Locale.ROOT, "%7s %7s %7s %7s %7s %7s %9s %9s  %s%n",
+                    millis(step.getTtfbMillis()), millis(step.getDomContentLoadedMillis()), millis(step.getLoadMillis()),
+                    millis(step.getFirstPaintMillis()), millis(step.getFirstContentfulPaintMillis()),
+                    millis(step.getLargestContentfulPaintMillis()),
+                    String.format(Locale.ROOT, "%.0f (%d)", step.getLongTaskMillis(), step.getLongTaskCount()),
+                    step.getTransferBytes() == null ? "-" : String.format(Locale.ROOT, "%.1f", step.getTransferBytes() / 1024.0),
+                    step.getStep() + " / " + step.getUrl()));
+        }
+        return table.toString();
+    }
+
+    private static String millis(Double value) {
+        return value == null ? "-" : String.format(Locale.ROOT, "%.0f", value);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.ui.helper;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+
+// Whether page-object steps collect browser performance data, and the limits a page may not exceed (0 = no limit)
+@Getter
+@Builder(toBuilder = true)
+public class PagePerformancePolicy {
+
+    @Builder.Default
+    private final boolean enabled = true;
+
+    // Exceeded limits fail the test; otherwise they are only reported
+    @Builder.Default
+    private final boolean enforced = false;
+
+    @Builder.Default
+    private final long maxLoadMillis = 0;
+
+    @Builder.Default
+    private final long maxFirstContentfulPaintMillis = 0;
+
+    @Builder.Default
+    private final long maxLargestContentfulPaintMillis = 0;
+
+    // Summed duration of the long tasks (over 50 ms each) in a single step
+    @Builder.Default
+    private final long maxLongTaskMillis = 0;
+
+    // Policy described by the pagePerf* keys in config.properties
+    public static PagePerformancePolicy fromConfig() {
+        return PagePerformancePolicy.builder()
+                .enabled(Boolean.parseBoolean(ConfigReader.getProperty("pagePerfEnabled", "true")))
+                .enforced(Boolean.parseBoolean(ConfigReader.getProperty("pagePerfThresholdsEnforced", "false")))
+                .maxLoadMillis(ConfigReader.getLongProperty("pagePerfMaxLoadMillis", 0))
+                .maxFirstContentfulPaintMillis(ConfigReader.getLongProperty("pagePerfMaxFirstContentfulPaintMillis", 0))
+                .maxLargestContentfulPaintMillis(ConfigReader.getLongProperty("pagePerfMaxLargestContentfulPaintMillis", 0))
+                .maxLongTaskMillis(ConfigReader.getLongProperty("pagePerfMaxLongTaskMillis", 0))
+                .build();
+    }
+}
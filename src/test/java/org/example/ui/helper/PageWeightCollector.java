@@ -0,0 +1,112 @@
+package org.example.ui.helper;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+import org.example.ui.models.PageWeight;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Allure step listener (registered in META-INF/services) that sums up what the browser downloaded during each
+// page-object @Step, from the session's NetworkRecorder, and attaches it to the step
+public class PageWeightCollector implements StepLifecycleListener {
+    private static final NetworkCapturePolicy policy = NetworkCapturePolicy.fromConfig();
+
+    private static final ThreadLocal<NetworkRecorder> recorder = new ThreadLocal<>();
+    // Steps open on this thread, innermost first
+    private static final ThreadLocal<Deque<StepMark>> openSteps = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final class StepMark {
+        private final String name;
+        private final int mark;
+
+        private StepMark(String name, int mark) {
+            this.name = name;
+            this.mark = mark;
+        }
+    }
+
+    // Steps on this thread are measured with the given recorder until untracked; null when capture is off
+    static void track(NetworkRecorder networkRecorder) {
+        if (networkRecorder == null) {
+            untrack();
+        } else {
+            recorder.set(networkRecorder);
+        }
+    }
+
+    static void untrack() {
+        recorder.remove();
+        openSteps.remove();
+    }
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        NetworkRecorder networkRecorder = recorder.get();
+        if (networkRecorder != null) {
+            openSteps.get().push(new StepMark(result.getName(), networkRecorder.mark()));
+        }
+    }
+
+    @Override
+    public void beforeStepStop(StepResult result) {
+        NetworkRecorder networkRecorder = recorder.get();
+        // Steps that started before the session was leased have no mark
+        if (networkRecorder == null || openSteps.get().isEmpty()) {
+            return;
+        }
+        StepMark step = openSteps.get().pop();
+        PageWeight weight = summarize(step.name, networkRecorder.since(step.mark));
+        networkRecorder.claim(step.mark, step.name);
+        if (weight.getRequests() + weight.getFailedRequests() > 0) {
+            Allure.addAttachment("Page weight", "text/plain", render(weight), ".txt");
+        }
+    }
+
+    // What the innermost running step downloaded so far; null when network capture is off or no step is running.
+    // Requests still in flight are not counted yet.
+    public static PageWeight currentStep() {
+        NetworkRecorder networkRecorder = recorder.get();
+        StepMark step = openSteps.get().peek();
+        if (networkRecorder == null || step == null) {
+            return null;
+        }
+        return summarize(step.name, networkRecorder.since(step.mark));
+    }
+
+    public static boolean isBudgetEnforced() {
+        return policy.isBudgetsEnforced();
+    }
+
+    private static PageWeight summarize(String step, List<NetworkRecorder.Entry> entries) {
+        List<NetworkRecorder.Entry> succeeded = entries.stream().filter(entry -> !entry.isFailed()).collect(Collectors.toList());
+        return PageWeight.builder()
+                .step(step)
+                .requests(succeeded.size())
+                .failedRequests(entries.size() - succeeded.size())
+                .transferBytes(succeeded.stream().mapToLong(NetworkRecorder.Entry::getTransferBytes).sum())
+                .slowestResources(succeeded.stream()
+                        .sorted(Comparator.comparingDouble(NetworkRecorder.Entry::durationMillis).reversed())
+                        .limit(policy.getSlowestResources())
+                        .map(entry -> String.format(Locale.ROOT, "%7.0f ms %9.1f KB  %s",
+                                entry.durationMillis(), entry.getTransferBytes() / 1024.0, entry.getUrl()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    public static String render(PageWeight weight) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Step: %s%nRequests: %d (%d failed or blocked)%nTransferred: %.1f KB%n",
+                weight.getStep(), weight.getRequests(), weight.getFailedRequests(), weight.getTransferBytes() / 1024.0));
+        if (!weight.getSlowestResources().isEmpty()) {
+            report.append("Slowest resources:").append(System.lineSeparator());
+            weight.getSlowestResources().forEach(line -> report.append("  ").append(line).append(System.lineSeparator()));
+        }
+        return report.toString();
+    }
+}
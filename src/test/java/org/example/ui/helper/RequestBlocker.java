@@ -0,0 +1,137 @@
+package org.example.ui.helper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fails requests to blocked hosts inside the browser through DevTools Fetch interception, before they are sent,
+// and counts what was blocked and how many bytes the page actually transferred. Raw CDP commands are used so
+// the blocker does not depend on the Chrome version. Covers the session's first tab only.
+class RequestBlocker {
+    private static final Logger logger = LogManager.getLogger(RequestBlocker.class);
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FINISHED =
+            new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+
+    private final RequestBlockingPolicy policy;
+    private final DevTools devTools;
+    private final Map<String, LongAdder> blockedByHost = new ConcurrentHashMap<>();
+    private final LongAdder bytesTransferred = new LongAdder();
+    private final LongAdder requestsCompleted = new LongAdder();
+
+    private RequestBlocker(RequestBlockingPolicy policy, DevTools devTools) {
+        this.policy = policy;
+        this.devTools = devTools;
+    }
+
+    // Starts blocking in the driver's browser; null when blocking is off or the browser has no DevTools
+    static RequestBlocker attach(WebDriver driver, RequestBlockingPolicy policy) {
+        if (!policy.isEnabled()) {
+            return null;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Request blocking needs Chrome DevTools, not available for {}", driver.getClass().getSimpleName());
+            return null;
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        RequestBlocker blocker = new RequestBlocker(policy, devTools);
+        blocker.start();
+        return blocker;
+    }
+
+    private void start() {
+        devTools.addListener(REQUEST_PAUSED, this::onRequestPaused);
+        devTools.addListener(LOADING_FINISHED, event -> {
+            requestsCompleted.increment();
+            bytesTransferred.add(((Number) event.get("encodedDataLength")).longValue());
+        });
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+        devTools.send(new Command<>("Fetch.enable", Collections.singletonMap("patterns", patterns())));
+        logger.info("Blocking {} third-party hosts{}", policy.getBlockedHosts().size(),
+                policy.isAllowlistMode() ? " and every host outside the allowlist" : "");
+    }
+
+    // Blocklist mode pauses only requests to blocked hosts; allowlist mode has to look at every request
+    private List<Map<String, Object>> patterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        if (policy.isAllowlistMode()) {
+            patterns.add(Collections.singletonMap("urlPattern", "*"));
+            return patterns;
+        }
+        for (String host : policy.getBlockedHosts()) {
+            patterns.add(Collections.singletonMap("urlPattern", "*://" + host + "/*"));
+            patterns.add(Collections.singletonMap("urlPattern", "*://*." + host + "/*"));
+        }
+        return patterns;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequestPaused(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        String url = (String) ((Map<String, Object>) event.get("request")).get("url");
+        String host = host(url);
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", requestId);
+        try {
+            if (policy.blocks(host)) {
+                blockedByHost.computeIfAbsent(host, key -> new LongAdder()).increment();
+                params.put("errorReason", "BlockedByClient");
+                devTools.send(new Command<>("Fetch.failRequest", params));
+            } else {
+                devTools.send(new Command<>("Fetch.continueRequest", params));
+            }
+        } catch (RuntimeException e) {
+            // The page may have navigated away, taking the paused request with it
+            logger.debug("Could not resolve paused request {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static String host(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Counters since the previous call, as a report; null when nothing was loaded or blocked
+    String snapshotAndReset() {
+        Map<String, Long> blocked = new TreeMap<>();
+        blockedByHost.forEach((host, count) -> {
+            long value = count.sumThenReset();
+            if (value > 0) {
+                blocked.put(host, value);
+            }
+        });
+        long requests = requestsCompleted.sumThenReset();
+        long bytes = bytesTransferred.sumThenReset();
+        if (requests == 0 && blocked.isEmpty()) {
+            return null;
+        }
+
+        long blockedTotal = blocked.values().stream().mapToLong(Long::longValue).sum();
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Requests completed: %d (%.1f KB transferred)%nRequests blocked: %d%n", requests, bytes / 1024.0, blockedTotal));
+        blocked.forEach((host, count) -> report.append(String.format(Locale.ROOT, "  %-40s %5d%n", host, count)));
+        return report.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.ui.helper;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Which requests a UI session refuses to send. Hosts match themselves and all of their subdomains.
+@Getter
+@Builder(toBuilder = true)
+public class RequestBlockingPolicy {
+
+    @Builder.Default
+    private final boolean enabled = false;
+
+    // Always blocked, e.g. analytics, chat widgets and tracking pixels
+    @Builder.Default
+    private final List<String> blockedHosts = Collections.emptyList();
+
+    // When not empty, every host outside this list is blocked as well (allowlist mode)
+    @Builder.Default
+    private final List<String> allowedHosts = Collections.emptyList();
+
+    // Policy described by the browserRequestBlocking* keys in config.properties
+    public static RequestBlockingPolicy fromConfig() {
+        return RequestBlockingPolicy.builder()
+                .enabled(Boolean.parseBoolean(ConfigReader.getProperty("browserRequestBlockingEnabled", "false")))
+                .blockedHosts(hosts(ConfigReader.getProperty("browserRequestBlockingBlockedHosts", "")))
+                .allowedHosts(hosts(ConfigReader.getProperty("browserRequestBlockingAllowedHosts", "")))
+                .build();
+    }
+
+    public boolean isAllowlistMode() {
+        return !allowedHosts.isEmpty();
+    }
+
+    public boolean blocks(String host) {
+        if (host == null) {
+            return false;
+        }
+        if (matches(blockedHosts, host)) {
+            return true;
+        }
+        return isAllowlistMode() && !matches(allowedHosts, host);
+    }
+
+    private static boolean matches(List<String> hosts, String host) {
+        String lowerCaseHost = host.toLowerCase();
+        return hosts.stream().anyMatch(entry -> lowerCaseHost.equals(entry) || lowerCaseHost.endsWith("." + entry));
+    }
+
+    private static List<String> hosts(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .map(String::toLowerCase)
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.ui.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.ConfigReader;
+import org.openqa.selenium.grid.Main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Where remote browser sessions come from: no Grid (local browsers), a Grid at a URL, or a standalone Grid
+// started inside this JVM with one session slot per core
+public final class SeleniumGrid {
+    private static final Logger logger = LogManager.getLogger(SeleniumGrid.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public static final String EMBEDDED = "embedded";
+    private static final long STARTUP_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+    private static final String QUEUE_QUERY = "{\"query\": \"{ sessionsInfo { sessionQueueRequests } }\"}";
+
+    private static volatile URL embedded;
+
+    private SeleniumGrid() {
+    }
+
+    // Grid for the seleniumGridUrl value: null when empty (local browsers), the in-process Grid for "embedded"
+    public static URL resolve(String gridUrl) {
+        if (gridUrl == null || gridUrl.trim().isEmpty()) {
+            return null;
+        }
+        if (!EMBEDDED.equals(gridUrl.trim())) {
+            return toUrl(gridUrl.trim());
+        }
+        if (embedded == null) {
+            synchronized (SeleniumGrid.class) {
+                if (embedded == null) {
+                    embedded = startEmbedded();
+                }
+            }
+        }
+        return embedded;
+    }
+
+    private static URL startEmbedded() {
+        int port = ConfigReader.getIntProperty("seleniumGridPort", 0);
+        int maxSessions = ConfigReader.getIntProperty("seleniumGridMaxSessions", 0);
+        if (port == 0) {
+            port = freePort();
+        }
+        if (maxSessions <= 0) {
+            maxSessions = Runtime.getRuntime().availableProcessors();
+        }
+        logger.info("Starting standalone Selenium Grid on port {} with {} session slots", port, maxSessions);
+        try {
+            Main.main(new String[]{"standalone", "--port", String.valueOf(port), "--max-sessions", String.valueOf(maxSessions),
+                    "--override-max-sessions", "true"});
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw new IllegalStateException("Could not start the embedded Selenium Grid: " + cause.getMessage(), e);
+        }
+        URL url = toUrl("http://localhost:" + port);
+        awaitReady(url);
+        return url;
+    }
+
+    private static void awaitReady(URL gridUrl) {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                JsonNode status = request(gridUrl, "/status", null).path("value");
+                if (status.path("ready").asBoolean()) {
+                    logger.info("Selenium Grid ready at {}: {}", gridUrl, status.path("message").asText());
+                    return;
+                }
+            } catch (IOException e) {
+                logger.debug("Selenium Grid not reachable yet: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the Selenium Grid", e);
+            }
+        }
+        throw new IllegalStateException("Selenium Grid at " + gridUrl + " was not ready within " + STARTUP_TIMEOUT_MS / 1000 + "s");
+    }
+
+    // Session requests waiting in the Grid's queue right now, or -1 when the Grid does not say
+    public static int queueSize(URL gridUrl) {
+        try {
+            JsonNode queue = request(gridUrl, "/graphql", QUEUE_QUERY).path("data").path("sessionsInfo").path("sessionQueueRequests");
+            return queue.isArray() ? queue.size() : -1;
+        } catch (IOException e) {
+            logger.debug("Could not read the Selenium Grid queue: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private static JsonNode request(URL gridUrl, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(gridUrl, path).openConnection();
+        connection.setConnectTimeout(2000);
+        connection.setReadTimeout(5000);
+        if (body != null) {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        try (InputStream in = connection.getInputStream()) {
+            return mapper.readTree(in);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("No free port for the embedded Selenium Grid", e);
+        }
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid seleniumGridUrl: " + url, e);
+        }
+    }
+}
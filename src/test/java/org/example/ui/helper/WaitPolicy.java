@@ -0,0 +1,33 @@
+package org.example.ui.helper;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.example.utils.ConfigReader;
+
+import java.time.Duration;
+
+// Timeout and polling of every UI wait; the driver's implicit wait stays at zero so waits never stack
+@Getter
+@Builder(toBuilder = true)
+public class WaitPolicy {
+
+    @Builder.Default
+    private final Duration timeout = Duration.ofSeconds(15);
+
+    // Interval of polled waits, e.g. for conditions on page-factory elements that have no locator
+    @Builder.Default
+    private final Duration pollingInterval = Duration.ofMillis(100);
+
+    // Waits on a locator resolve from a DOM MutationObserver inside the page instead of being polled
+    @Builder.Default
+    private final boolean mutationObserver = true;
+
+    // Policy described by the explicitWait and wait* keys in config.properties
+    public static WaitPolicy fromConfig() {
+        return WaitPolicy.builder()
+                .timeout(Duration.ofSeconds(ConfigReader.getLongProperty("explicitWait", 15)))
+                .pollingInterval(Duration.ofMillis(ConfigReader.getLongProperty("waitPollingMillis", 100)))
+                .mutationObserver(Boolean.parseBoolean(ConfigReader.getProperty("waitUseMutationObserver", "true")))
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.ui.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Duration and outcome of every wait made by the UI test running on this thread
+public class WaitTimings {
+    private static final ThreadLocal<List<Entry>> entries = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final class Entry {
+        private final String description;
+        private final long millis;
+        private final boolean met;
+
+        private Entry(String description, long millis, boolean met) {
+            this.description = description;
+            this.millis = millis;
+            this.met = met;
+        }
+    }
+
+    private WaitTimings() {
+    }
+
+    public static void record(String description, long durationNanos, boolean met) {
+        entries.get().add(new Entry(description, TimeUnit.NANOSECONDS.toMillis(durationNanos), met));
+    }
+
+    // Table of the waits recorded since the previous call, or null if there were none
+    public static String drain() {
+        List<Entry> recorded = entries.get();
+        if (recorded.isEmpty()) {
+            return null;
+        }
+        long total = 0;
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%8s  %-9s %s%n", "ms", "Outcome", "Wait"));
+        for (Entry entry : recorded) {
+            total += entry.millis;
+            table.append(String.format(Locale.ROOT, "%8d  %-9s %s%n", entry.millis, entry.met ? "met" : "timed out", entry.description));
+        }
+        table.append(String.format(Locale.ROOT, "%8d  %-9s %d waits%n", total, "total", recorded.size()));
+        entries.remove();
+        return table.toString();
+    }
+}
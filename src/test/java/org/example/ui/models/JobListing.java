@@ -0,0 +1,18 @@
+package org.example.ui.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One job card of the open positions list, as rendered
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobListing {
+    private String title;
+    private String department;
+    private String location;
+    private String applyUrl;
+}
@@ -0,0 +1,28 @@
+package org.example.ui.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Browser performance data of the page shown when a page-object step ended; times in ms from navigation start
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageMetrics {
+    private String step;
+    private String url;
+    // Identifies the document; steps on the same page share it
+    private Double timeOrigin;
+    private Double ttfbMillis;
+    private Double domContentLoadedMillis;
+    private Double loadMillis;
+    private Double firstPaintMillis;
+    private Double firstContentfulPaintMillis;
+    private Double largestContentfulPaintMillis;
+    private Long transferBytes;
+    // Long tasks that ended during this step
+    private int longTaskCount;
+    private double longTaskMillis;
+}
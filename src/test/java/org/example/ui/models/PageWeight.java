@@ -0,0 +1,23 @@
+package org.example.ui.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// What the browser downloaded while a page-object step ran
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageWeight {
+    private String step;
+    // Requests that completed; failed and blocked ones are counted separately
+    private int requests;
+    private int failedRequests;
+    private long transferBytes;
+    // Slowest completed requests, as "duration size url" lines
+    private List<String> slowestResources;
+}
@@ -4,15 +4,19 @@ import io.qameta.allure.Step;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.ui.base.BasePage;
+import org.example.ui.base.PageWeightBudget;
+import org.example.ui.models.JobListing;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.TimeoutException;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 // Page Object for the All QA Jobs Page
+@PageWeightBudget(maxRequests = 150, maxTransferKb = 4000)
 public class AllQAJobsPage extends BasePage {
     private static final Logger logger = LogManager.getLogger(AllQAJobsPage.class);
     
@@ -20,27 +24,44 @@ public class AllQAJobsPage extends BasePage {
     By departmentDropdown = By.cssSelector("#select2-filter-by-department-container");
     By istanbulLocationOption = By.xpath("//li[contains(@id, 'Istanbul')]");
     By jobListings = By.cssSelector("[data-location='istanbul-turkiye']");
-    By jobTitle = By.cssSelector(".position-title");
-    By jobDepartment = By.cssSelector(".position-department");
-    By jobLocation = By.cssSelector(".position-location");
     By jobListingContainer = By.cssSelector(".position-list-item-wrapper");
     By applyButton = By.cssSelector(".position-list-item-wrapper a[href*='jobs.lever.co']");
 
+    // Fields of a JobListing, read from each job card in one script call
+    private static final Map<String, String> JOB_CARD_FIELDS = new LinkedHashMap<>();
+
+    static {
+        JOB_CARD_FIELDS.put("title", ".position-title");
+        JOB_CARD_FIELDS.put("department", ".position-department");
+        JOB_CARD_FIELDS.put("location", ".position-location");
+        JOB_CARD_FIELDS.put("applyUrl", "a[href*='jobs.lever.co']@href");
+    }
+
     public AllQAJobsPage(){
         super();
         logger.info("Initializing AllQAJobsPage");
     }
 
+    // Waits for the department filter, then holds the step that opened this page to its budget
+    AllQAJobsPage awaitLoaded() {
+        try {
+            waitForElementVisible(departmentDropdown);
+        } catch (TimeoutException e) {
+            logger.warn("Department filter not displayed: {}", e.getMessage());
+        }
+        checkPageWeight();
+        return this;
+    }
+
     // Selects filters to narrow down QA job listings
     @Step("Selecting job filters: Department=QA, Location=Istanbul")
     public void selectFilters() {
         logger.info("Selecting job filters");
         
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(departmentDropdown, "Quality Assurance"));
+        waitForTextPresent(departmentDropdown, "Quality Assurance");
         
-        click(driver.findElement(locationDropdown));
-        waitForElementVisible(driver.findElement(istanbulLocationOption));
-        click(driver.findElement(istanbulLocationOption));
+        click(awaitLocated(locationDropdown, true, null));
+        click(awaitLocated(istanbulLocationOption, true, null));
         
         waitForElementsPresent(jobListings);
     }
@@ -50,27 +71,23 @@ public class AllQAJobsPage extends BasePage {
         logger.info("Waiting for QA jobs to load");
         // Scroll to the job listings area to ensure it's visible
         try {
-            List<WebElement> listings = driver.findElements(jobListings);
-            if (!listings.isEmpty()) {
-                scrollToElement(listings.get(0));
+            if (scrollTo(jobListings)) {
                 logger.info("Scrolled to job listings area");
             }
         } catch (Exception e) {
             logger.warn("Could not scroll to job listings area: {}", e.getMessage());
         }
         
-        wait.until(driver -> {
-            List<WebElement> jobs = driver.findElements(jobListings);
-            return jobs.stream().anyMatch(job -> {
-                try {
-                    String title = job.findElement(jobTitle).getText();
-                    return title.contains("Quality Assurance") || title.contains("QA");
-                } catch (Exception e) {
-                    logger.error("Error checking job title: {}", e.getMessage());
-                    return false;
-                }
-            });
-        });
+        waitUntil("QA job listed", driver -> getJobListings().stream().anyMatch(job -> isQaText(job.getTitle())));
+    }
+
+    // Every listed job card, extracted in a single round trip however many cards there are
+    public List<JobListing> getJobListings() {
+        return extractAll(jobListings, JOB_CARD_FIELDS, JobListing.class);
+    }
+
+    private static boolean isQaText(String text) {
+        return text != null && (text.contains("Quality Assurance") || text.contains("QA"));
     }
 
     // Verifies that QA jobs exist
@@ -79,14 +96,12 @@ public class AllQAJobsPage extends BasePage {
         logger.info("Verifying QA jobs exist");
         try {
             // Scroll to job listings before verification
-            List<WebElement> listings = driver.findElements(jobListings);
-            if (!listings.isEmpty()) {
-                scrollToElement(listings.get(0));
+            if (scrollTo(jobListings)) {
                 logger.info("Scrolled to job listings");
             }
             
             waitForQAJobsToLoad();
-            List<WebElement> allJobs = driver.findElements(jobListings);
+            List<JobListing> allJobs = getJobListings();
             logger.info("Found {} QA jobs", allJobs.size());
             return !allJobs.isEmpty();
         } catch (TimeoutException e) {
@@ -100,23 +115,18 @@ public class AllQAJobsPage extends BasePage {
     public Boolean verifyAllJobsDetails() {
         logger.info("Verifying job details");
         // Scroll to job listings before verification
-        List<WebElement> listings = driver.findElements(jobListings);
-        if (!listings.isEmpty()) {
-            scrollToElement(listings.get(0));
+        if (scrollTo(jobListings)) {
             logger.info("Scrolled to job listings");
         }
         
         waitForQAJobsToLoad();
-        List<WebElement> allJobs = driver.findElements(jobListings);
+        List<JobListing> allJobs = getJobListings();
+        allJobs.forEach(job -> logger.debug("Job listing: {}", job));
 
         return allJobs.stream().allMatch(job -> {
-            String positionTitleText = job.findElement(jobTitle).getText();
-            String positionDepartmentText = job.findElement(jobDepartment).getText();
-            String positionLocationText = job.findElement(jobLocation).getText();
-            
-            boolean isTitleValid = positionTitleText.contains("Quality Assurance") || positionTitleText.contains("QA");
-            boolean isDepartmentValid = positionDepartmentText.contains("Quality Assurance") || positionDepartmentText.contains("QA");
-            boolean isLocationValid = positionLocationText.contains("Istanbul, Turkiye");
+            boolean isTitleValid = isQaText(job.getTitle());
+            boolean isDepartmentValid = isQaText(job.getDepartment());
+            boolean isLocationValid = job.getLocation() != null && job.getLocation().contains("Istanbul, Turkiye");
             
             return isTitleValid && isDepartmentValid && isLocationValid;
         });
@@ -125,10 +135,8 @@ public class AllQAJobsPage extends BasePage {
     // Special hover and click implementation with retry mechanism
     protected void clickWithScrollAndRetry(By containerLocator, By buttonLocator) {
         logger.info("Attempting to click the button");
-        wait.until(ExpectedConditions.presenceOfElementLocated(containerLocator));
-        wait.until(ExpectedConditions.presenceOfElementLocated(buttonLocator));
-
-        WebElement button = driver.findElement(buttonLocator);
+        waitForElementPresent(containerLocator);
+        WebElement button = awaitLocated(buttonLocator, false, null);
         scrollToElement(button);
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", button);
     }
@@ -4,6 +4,7 @@ import io.qameta.allure.Step;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.ui.base.BasePage;
+import org.example.ui.base.PageWeightBudget;
 import org.example.utils.ConfigReader;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
@@ -11,6 +12,7 @@ import org.openqa.selenium.support.FindBy;
 import java.util.List;
 
 // Page Object for the Insider Careers Page
+@PageWeightBudget(maxRequests = 250, maxTransferKb = 8000)
 public class CareersPage extends BasePage {
     private static final Logger logger = LogManager.getLogger(CareersPage.class);
 
@@ -42,10 +44,19 @@ public class CareersPage extends BasePage {
         return isLocationsDisplayed && isTeamsDisplayed && isLifeAtInsiderDisplayed;
     }
 
+    // Waits for the content blocks, then holds the step that opened this page to its budget. Deliberately not a
+    // @Step, so the traffic is measured over the navigating step, click included.
+    CareersPage awaitLoaded() {
+        isElementDisplayed(locationsBlock);
+        isElementDisplayed(teamsBlock);
+        checkPageWeight();
+        return this;
+    }
+
     @Step("Navigating to QA Jobs page")
     public QAJobsPage navigateToQAJobs() {
         logger.info("Navigating to QA Jobs page: {}", QA_CAREERS_URL);
-        driver.get(QA_CAREERS_URL);
-        return new QAJobsPage();
+        navigateTo(QA_CAREERS_URL);
+        return new QAJobsPage().awaitLoaded();
     }
 } 
@@ -4,11 +4,13 @@ import io.qameta.allure.Step;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.ui.base.BasePage;
+import org.example.ui.base.PageWeightBudget;
 import org.example.utils.ConfigReader;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 // Page Object for the Insider Home Page
+@PageWeightBudget(maxRequests = 250, maxTransferKb = 8000)
 public class HomePage extends BasePage {
     private static final Logger logger = LogManager.getLogger(HomePage.class);
     private static final String HOME_URL = ConfigReader.getProperty("insiderBaseUrl");
@@ -36,7 +38,9 @@ public class HomePage extends BasePage {
     @Step("Navigating to Insider home page")
     public void navigateToHomePage() {
         logger.info("Navigating to: {}", HOME_URL);
-        driver.get(HOME_URL);
+        navigateTo(HOME_URL);
+        isElementDisplayed(insiderLogo);
+        checkPageWeight();
     }
 
     @Step("Validating basic elements on home page")
@@ -60,6 +64,6 @@ public class HomePage extends BasePage {
         logger.info("Navigating to Careers");
         click(navBarCompany);
         click(careersLink);
-        return new CareersPage();
+        return new CareersPage().awaitLoaded();
     }
 } 
@@ -21,7 +21,7 @@ public class LeverPage extends BasePage {
         
         // Wait for new window to appear
         logger.debug("Waiting for new window to appear");
-        wait.until(driver -> driver.getWindowHandles().size() > 1);
+        waitUntil("new window", driver -> driver.getWindowHandles().size() > 1);
 
         // Get all window handles
         Set<String> windowHandles = driver.getWindowHandles();
@@ -34,11 +34,11 @@ public class LeverPage extends BasePage {
 
         if (newWindow != null) {
             logger.debug("Switching to window: {}", newWindow);
-            driver.switchTo().window(newWindow);
+            switchToWindow(newWindow);
             
             // Wait for URL to contain "jobs.lever"
             logger.debug("Waiting for URL to contain 'jobs.lever'");
-            boolean navigated = wait.until(driver -> driver.getCurrentUrl().contains("jobs.lever"));
+            boolean navigated = waitUntil("Lever URL", driver -> driver.getCurrentUrl().contains("jobs.lever"));
             logger.info("Navigation to Lever verified: {}", navigated);
             return navigated;
         }
@@ -1,20 +1,31 @@
 package org.example.ui.pages;
 
+import io.qameta.allure.Step;
 import org.example.ui.base.BasePage;
+import org.example.ui.base.PageWeightBudget;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import java.util.List;
 
+@PageWeightBudget(maxRequests = 250, maxTransferKb = 8000)
 public class QAJobsPage extends BasePage {
     
     @FindBy(css = "[href='https://useinsider.com/careers/open-positions/?department=qualityassurance']")
     private WebElement allQAJobsBtn;
 
 
+    // Waits for the link to all QA jobs, then holds the step that opened this page to its budget
+    QAJobsPage awaitLoaded() {
+        isElementDisplayed(allQAJobsBtn);
+        checkPageWeight();
+        return this;
+    }
+
+    @Step("Navigating to all QA jobs")
     public AllQAJobsPage navigateToAllQAJobsPage() {
-        allQAJobsBtn.click();
-        return new AllQAJobsPage();
+        click(allQAJobsBtn);
+        return new AllQAJobsPage().awaitLoaded();
     }
 
 } 
\ No newline at end of file
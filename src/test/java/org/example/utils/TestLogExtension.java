@@ -0,0 +1,127 @@
+package org.example.utils;
+
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Routes each test's log lines to target/test-logs/<testId>.log and attaches that file to the test's Allure result.
+// Register it last so the log lines of the other extensions' TestWatcher callbacks are still included.
+public class TestLogExtension implements BeforeEachCallback, TestWatcher {
+    private static final Logger logger = LogManager.getLogger(TestLogExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestLogExtension.class);
+
+    private static final String TEST_ID_KEY = "testId";
+    private static final String ROUTING_APPENDER = "PerTest";
+    private static final Path TEST_LOG_DIR = Paths.get("target", "test-logs");
+    private static final long FLUSH_TIMEOUT_MILLIS = ConfigReader.getLongProperty("testLogFlushTimeoutMillis", 2000);
+    private static final long FLUSH_POLL_MILLIS = 20;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        String testId = testId(context);
+        context.getStore(NAMESPACE).put(TEST_ID_KEY, testId);
+        ThreadContext.put(TEST_ID_KEY, testId);
+        logger.info("Starting test {}", context.getDisplayName());
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        finish(context);
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        finish(context);
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        finish(context);
+    }
+
+    // Carries the caller's test id over to a worker thread, so lines logged there land in the same test file
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Map<String, String> testContext = ThreadContext.getImmutableContext();
+        if (!testContext.containsKey(TEST_ID_KEY)) {
+            return task;
+        }
+        return () -> {
+            ThreadContext.putAll(testContext);
+            try {
+                return task.get();
+            } finally {
+                ThreadContext.clearMap();
+            }
+        };
+    }
+
+    private static void finish(ExtensionContext context) {
+        String testId = context.getStore(NAMESPACE).remove(TEST_ID_KEY, String.class);
+        if (testId == null) {
+            return;
+        }
+        // Logging is asynchronous: write an end marker and wait until the appender thread has flushed it
+        String marker = "Finished test " + testId;
+        logger.info(marker);
+        ThreadContext.remove(TEST_ID_KEY);
+
+        Path logFile = TEST_LOG_DIR.resolve(testId + ".log");
+        String content = awaitFlushed(logFile, marker);
+        closeAppender(testId);
+        if (content != null) {
+            Allure.addAttachment("Test log", "text/plain", content, ".log");
+        }
+    }
+
+    private static String awaitFlushed(Path logFile, String marker) {
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+        String content = null;
+        try {
+            while (true) {
+                if (Files.exists(logFile)) {
+                    content = new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+                    if (content.contains(marker) || System.currentTimeMillis() >= deadline) {
+                        return content;
+                    }
+                } else if (System.currentTimeMillis() >= deadline) {
+                    return null;
+                }
+                Thread.sleep(FLUSH_POLL_MILLIS);
+            }
+        } catch (IOException e) {
+            return content;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return content;
+        }
+    }
+
+    // Releases the file handle of a finished test instead of keeping one open per test for the whole run
+    private static void closeAppender(String testId) {
+        LoggerContext loggerContext = (LoggerContext) LogManager.getContext(false);
+        RoutingAppender routing = loggerContext.getConfiguration().getAppender(ROUTING_APPENDER);
+        if (routing != null) {
+            routing.deleteAppender(testId);
+        }
+    }
+
+    // Readable and unique even for repeated or parameterized invocations of the same method
+    private static String testId(ExtensionContext context) {
+        String name = context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+        return name + "-" + Integer.toHexString(context.getUniqueId().hashCode());
+    }
+}